@@ -0,0 +1,110 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compares a JMH CSV result file to the baseline and lists every score that got worse by more than the threshold percentage,
+// and beyond the error margins JMH reports for both, exiting with 1 if there is any. Scores per operation, such as times and
+// allocations, are better lower, throughputs higher. Benchmarks missing from the baseline are listed as new.
+public class BaselineComparison {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.csv> <results.csv> [threshold percent]");
+            System.exit(2);
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, String[]> baseline = readScores(Paths.get(args[0]));
+        Map<String, String[]> results = readScores(Paths.get(args[1]));
+        int regressions = 0;
+        for (Map.Entry<String, String[]> entry : results.entrySet()) {
+            String[] baselineScore = baseline.get(entry.getKey());
+            if (baselineScore == null) {
+                System.out.println("NEW        " + entry.getKey() + " " + entry.getValue()[0] + " " + entry.getValue()[1]);
+                continue;
+            }
+            String unit = entry.getValue()[1];
+            boolean lowerIsBetter = unit.endsWith("/op");
+            // Rates, counts and total times of the profilers depend on the run length and are not compared
+            if (!lowerIsBetter && !unit.startsWith("ops/")) {
+                continue;
+            }
+            double before = Double.parseDouble(baselineScore[0]);
+            double after = Double.parseDouble(entry.getValue()[0]);
+            double changePercent = before != 0 ? (after - before) / before * 100 : 0;
+            // A change within the error margins of both scores together may be noise
+            boolean significant = Math.abs(after - before) > getError(baselineScore) + getError(entry.getValue());
+            // Allocations below a byte per operation are measurement noise of benchmarks that do not allocate
+            if (unit.equals("B/op") && Math.max(before, after) < 1) {
+                significant = false;
+            }
+            boolean regression = significant && (lowerIsBetter ? changePercent > thresholdPercent : changePercent < -thresholdPercent);
+            if (regression) {
+                regressions++;
+            }
+            System.out.println(String.format("%-10s %s %s -> %s %s (%+.1f%%)", regression ? "REGRESSION" : "OK", entry.getKey(),
+                    baselineScore[0], entry.getValue()[0], unit, changePercent));
+        }
+        System.out.println(regressions + " regression(s) over " + thresholdPercent + "%");
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // The 99.9% error JMH reports, 0 when it could not work one out from a single iteration
+    private static double getError(String[] score) {
+        return score[2].isEmpty() || score[2].equals("NaN") ? 0 : Double.parseDouble(score[2]);
+    }
+
+    // Score, unit and error by benchmark name and parameter values
+    private static Map<String, String[]> readScores(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, String[]> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+        List<String> header = parseLine(lines.get(0));
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+        int errorColumn = header.indexOf("Score Error (99.9%)");
+        if (scoreColumn < 0 || unitColumn < 0 || errorColumn < 0) {
+            throw new IOException(file + " is not a JMH CSV result file");
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> fields = parseLine(line);
+            StringBuilder key = new StringBuilder(fields.get(0));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && i < fields.size() && !fields.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                }
+            }
+            scores.put(key.toString(), new String[]{fields.get(scoreColumn), fields.get(unitColumn), fields.get(errorColumn)});
+        }
+        return scores;
+    }
+
+    private static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,52 @@
+package Benchmarks;
+
+import SaveWesteros.Grid;
+import SaveWesteros.SaveWesteros;
+import Search.Node;
+import Search.SearchBudget;
+import Search.Strategy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Reproducible inputs shared by the benchmarks
+class BenchmarkGrids {
+    static final long SEED = 42;
+
+    static Grid create(int size, double whiteWalkerDensity, double obstacleDensity, long seed) throws Exception {
+        int cellsCount = size * size;
+        int whiteWalkersNumber = Math.max(1, (int) Math.round(cellsCount * whiteWalkerDensity));
+        int obstaclesNumber = (int) Math.round(cellsCount * obstacleDensity);
+        return new Grid(size, size, whiteWalkersNumber, obstaclesNumber, seed);
+    }
+
+    // A SaveWesteros set up for the grid and strategy, by a search stopped at its first expansion
+    static SaveWesteros prepare(Grid grid, Strategy strategy) {
+        SaveWesteros saveWesteros = new SaveWesteros();
+        saveWesteros.setSearchBudget(new SearchBudget(0, 1, 0));
+        saveWesteros.solve(grid, strategy, false);
+        return saveWesteros;
+    }
+
+    // The first count distinct states in breadth first order, as nodes whose eval is set for the prepared strategy
+    static Node[] sampleNodes(SaveWesteros saveWesteros, int count) {
+        List<Node> nodes = new ArrayList<>();
+        Set<Object> visited = new HashSet<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(new Node(saveWesteros.getInitialState(), null, 0, null));
+        visited.add(saveWesteros.getInitialState().getKey());
+        while (!queue.isEmpty() && nodes.size() < count) {
+            Node node = queue.poll();
+            nodes.add(node);
+            for (Node successorNode : saveWesteros.expand(node, saveWesteros.getOperators())) {
+                if (visited.add(successorNode.getState().getKey())) {
+                    queue.add(successorNode);
+                }
+            }
+        }
+        return nodes.toArray(new Node[0]);
+    }
+}
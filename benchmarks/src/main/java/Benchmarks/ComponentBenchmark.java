@@ -0,0 +1,149 @@
+package Benchmarks;
+
+import SaveWesteros.Grid;
+import SaveWesteros.SaveWesteros;
+import Search.Frontier;
+import Search.Node;
+import Search.Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// The operations every search repeats per node: expanding it, checking its successors for repeated states, moving nodes
+// through the frontier and evaluating the heuristics. Every benchmark goes once over the same sample of states of a seeded
+// grid, and reports the time per state.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ComponentBenchmark {
+    private static final int SAMPLE_SIZE = 4096;
+
+    @Param({"16", "32"})
+    private int size;
+
+    private SaveWesteros saveWesteros;
+    private Node[] nodes;
+    private Object[] keys;
+    // Equal to the keys but other objects, as the successors generated again for repeated states are
+    private Object[] probeKeys;
+    private Set<Object> repeatedStates;
+    private List<Node> successors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Grid grid = BenchmarkGrids.create(size, 0.05, 0.1, BenchmarkGrids.SEED);
+        saveWesteros = BenchmarkGrids.prepare(grid, Strategy.AS4);
+        nodes = BenchmarkGrids.sampleNodes(saveWesteros, SAMPLE_SIZE);
+        Node[] probeNodes = BenchmarkGrids.sampleNodes(saveWesteros, SAMPLE_SIZE);
+        keys = new Object[nodes.length];
+        probeKeys = new Object[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            keys[i] = nodes[i].getState().getKey();
+            probeKeys[i] = probeNodes[i].getState().getKey();
+        }
+        repeatedStates = new HashSet<>();
+        for (Object key : keys) {
+            repeatedStates.add(key);
+        }
+        successors = new ArrayList<>();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void expand(Blackhole blackhole) {
+        for (Node node : nodes) {
+            successors.clear();
+            saveWesteros.expand(node, saveWesteros.getOperators(), successors);
+            blackhole.consume(successors.size());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public Set<Object> repeatedStateInsert() {
+        Set<Object> states = new HashSet<>();
+        for (Object key : keys) {
+            states.add(key);
+        }
+        return states;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void repeatedStateLookup(Blackhole blackhole) {
+        for (Object key : probeKeys) {
+            blackhole.consume(repeatedStates.contains(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void heuristicOne(Blackhole blackhole) {
+        for (Node node : nodes) {
+            blackhole.consume(saveWesteros.evaluateHeuristicOne(node));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void heuristicTwo(Blackhole blackhole) {
+        for (Node node : nodes) {
+            blackhole.consume(saveWesteros.evaluateHeuristicTwo(node));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void heuristicThree(Blackhole blackhole) {
+        for (Node node : nodes) {
+            blackhole.consume(saveWesteros.evaluateHeuristicThree(node));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void heuristicFour(Blackhole blackhole) {
+        for (Node node : nodes) {
+            blackhole.consume(saveWesteros.evaluateHeuristicFour(node));
+        }
+    }
+
+    // Inserting and popping every node of the sample, with the frontier of each kind of strategy
+    @State(Scope.Thread)
+    public static class FrontierState {
+        @Param({"BF", "DF", "UC"})
+        private Strategy frontierStrategy;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void frontierInsertAndPop(FrontierState frontierState, Blackhole blackhole) {
+        Frontier frontier = frontierState.frontierStrategy.createFrontier();
+        for (Node node : nodes) {
+            frontier.add(node);
+        }
+        while (!frontier.isEmpty()) {
+            blackhole.consume(frontier.remove());
+        }
+    }
+}
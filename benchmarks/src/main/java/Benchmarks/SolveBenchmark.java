@@ -0,0 +1,61 @@
+package Benchmarks;
+
+import SaveWesteros.Grid;
+import SaveWesteros.SaveWesteros;
+import SaveWesteros.SearchResult;
+import Search.SearchBudget;
+import Search.Strategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Full solves of every strategy over seeded grids of several sizes and densities
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+// The slowest solves take up to a second and keep getting faster for several seconds. The heap is fixed so that its resizing
+// does not add to the noise.
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SolveBenchmark {
+    // Strategies that blow up on the larger grids, iterative deepening first of all, stop after the same amount of work
+    private static final SearchBudget BUDGET = new SearchBudget(0, 200000, 0);
+
+    @Param
+    private Strategy strategy;
+
+    @Param({"8", "16", "32"})
+    private int size;
+
+    @Param({"0.02", "0.05"})
+    private double whiteWalkerDensity;
+
+    @Param({"0.05", "0.15"})
+    private double obstacleDensity;
+
+    private Grid grid;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        grid = BenchmarkGrids.create(size, whiteWalkerDensity, obstacleDensity, BenchmarkGrids.SEED);
+    }
+
+    @Benchmark
+    public SearchResult solve() {
+        SaveWesteros saveWesteros = new SaveWesteros();
+        saveWesteros.setSearchBudget(BUDGET);
+        return saveWesteros.solve(grid, strategy, false);
+    }
+}
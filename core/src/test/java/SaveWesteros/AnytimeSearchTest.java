@@ -0,0 +1,51 @@
+package SaveWesteros;
+
+import Search.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Anytime repairing A* ends, once its weight is down to 1, with the uniform cost optimum when its heuristic is admissible
+class AnytimeSearchTest {
+    private static final int GRIDS = 30;
+    private static final Strategy[] ADMISSIBLE_STRATEGIES = {Strategy.ARA3, Strategy.ARA4};
+
+    @Test
+    void weightOneMatchesUniformCost() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(6, 6, 31);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult uniformCost = new SaveWesteros().solve(grid, Strategy.UC, false);
+            for (Strategy strategy : ADMISSIBLE_STRATEGIES) {
+                SaveWesteros saveWesteros = new SaveWesteros();
+                saveWesteros.setHeuristicWeights(1, 0.5);
+                SearchResult searchResult = saveWesteros.solve(grid, strategy, false);
+                assertEquals(uniformCost.isSolved(), searchResult.isSolved(), strategy + " on grid " + i);
+                assertEquals(uniformCost.getSolutionCost(), searchResult.getSolutionCost(), strategy + " on grid " + i);
+            }
+        }
+    }
+
+    @Test
+    void improvedPlansNeverCostMore() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(6, 6, 32);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult uniformCost = new SaveWesteros().solve(grid, Strategy.UC, false);
+            for (Strategy strategy : new Strategy[]{Strategy.ARA1, Strategy.ARA2, Strategy.ARA3, Strategy.ARA4}) {
+                List<Double> costs = new ArrayList<>();
+                SearchResult searchResult = new SaveWesteros().searchAnytime(grid, strategy, published -> costs.add(published.getSolutionCost()));
+                for (int j = 1; j < costs.size(); j++) {
+                    assertTrue(costs.get(j) <= costs.get(j - 1), strategy + " published a costlier plan on grid " + i);
+                }
+                if (uniformCost.isSolved() && (strategy == Strategy.ARA3 || strategy == Strategy.ARA4)) {
+                    assertEquals(uniformCost.getSolutionCost(), searchResult.getSolutionCost(), strategy + " on grid " + i);
+                }
+            }
+        }
+    }
+}
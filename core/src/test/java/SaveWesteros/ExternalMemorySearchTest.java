@@ -0,0 +1,68 @@
+package SaveWesteros;
+
+import Search.Strategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Searching with the layers on disk has to find what the same search finds in memory. A run length of 7 makes every layer
+// span many runs, so the merges are exercised even on small grids.
+class ExternalMemorySearchTest {
+    private static final int GRIDS = 20;
+    private static final int[] RUN_LENGTHS = {7, 1 << 20};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void breadthFirstMatchesInMemoryDepth() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(8, 8, 61);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult inMemory = new SaveWesteros().solve(grid, Strategy.BF, false);
+            for (int runLength : RUN_LENGTHS) {
+                SearchResult external = solveExternally(grid, Strategy.BF, runLength);
+                String message = "grid " + i + " with runs of " + runLength;
+                assertEquals(inMemory.isSolved(), external.isSolved(), message);
+                assertEquals(inMemory.getChosenExpandedNodesCount(), external.getChosenExpandedNodesCount(), message);
+            }
+        }
+    }
+
+    @Test
+    void uniformCostMatchesInMemoryCost() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(8, 8, 62);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult inMemory = new SaveWesteros().solve(grid, Strategy.UC, false);
+            for (int runLength : RUN_LENGTHS) {
+                SearchResult external = solveExternally(grid, Strategy.UC, runLength);
+                String message = "grid " + i + " with runs of " + runLength;
+                assertEquals(inMemory.isSolved(), external.isSolved(), message);
+                assertEquals(inMemory.getSolutionCost(), external.getSolutionCost(), message);
+            }
+        }
+    }
+
+    private SearchResult solveExternally(Grid grid, Strategy strategy, int runLength) throws Exception {
+        SaveWesteros saveWesteros = new SaveWesteros();
+        saveWesteros.setExternalMemoryDirectory(directory);
+        saveWesteros.setExternalMemoryRunLength(runLength);
+        SearchResult searchResult = saveWesteros.solve(grid, strategy, false);
+        assertTrue(isEmpty(directory), "files left behind by " + strategy);
+        return searchResult;
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return !files.findAny().isPresent();
+        }
+    }
+}
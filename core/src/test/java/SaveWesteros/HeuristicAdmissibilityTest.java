@@ -0,0 +1,89 @@
+package SaveWesteros;
+
+import Search.Node;
+import Search.Operator;
+import Search.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The third and fourth heuristics have to be admissible: A* with them finds the uniform cost optimum, and on the optimal
+// plan neither ever exceeds the cost still left to pay
+class HeuristicAdmissibilityTest {
+    private static final int GRIDS = 30;
+
+    @Test
+    void aStarMatchesUniformCostOnRandomContents() throws Exception {
+        checkGrids(new GridGenerator(5, 5, 11));
+    }
+
+    @Test
+    void aStarMatchesUniformCostOnSparseGrids() throws Exception {
+        checkGrids(new GridGenerator(6, 6, 4, 4, 12));
+    }
+
+    @Test
+    void heuristicsNeverExceedRemainingCost() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(5, 5, 13);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SaveWesteros saveWesteros = new SaveWesteros();
+            SearchResult uniformCost = saveWesteros.solve(grid, Strategy.UC, false);
+            if (!uniformCost.isSolved()) {
+                continue;
+            }
+            double optimalCost = uniformCost.getSolutionCost();
+            for (Node node : replay(saveWesteros, uniformCost.getSequenceOfMoves())) {
+                // The rest of an optimal plan is an optimal plan from where it starts
+                double remainingCost = optimalCost - node.getPathCost();
+                assertTrue(saveWesteros.evaluateHeuristicThree(node) <= remainingCost, "h3 overestimates on grid " + i);
+                assertTrue(saveWesteros.evaluateHeuristicFour(node) <= remainingCost, "h4 overestimates on grid " + i);
+            }
+        }
+    }
+
+    private static void checkGrids(GridGenerator gridGenerator) {
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult uniformCost = new SaveWesteros().solve(grid, Strategy.UC, false);
+            for (Strategy strategy : new Strategy[]{Strategy.AS3, Strategy.AS4}) {
+                SearchResult searchResult = new SaveWesteros().solve(grid, strategy, false);
+                if (uniformCost.isSolved()) {
+                    assertTrue(searchResult.isSolved(), strategy + " found no plan on grid " + i);
+                    assertEquals(uniformCost.getSolutionCost(), searchResult.getSolutionCost(), strategy + " on grid " + i);
+                } else {
+                    assertFalse(searchResult.isSolved(), strategy + " solved unsolvable grid " + i);
+                }
+            }
+        }
+    }
+
+    // The nodes of the plan from the initial state to the goal, generated again from the names of its moves
+    private static List<Node> replay(SaveWesteros saveWesteros, String sequenceOfMoves) {
+        List<Node> nodes = new ArrayList<>();
+        Node node = new Node(saveWesteros.getInitialState(), null, 0, null);
+        nodes.add(node);
+        if (sequenceOfMoves.isEmpty()) {
+            return nodes;
+        }
+        List<Operator> operators = saveWesteros.getOperators();
+        for (String move : sequenceOfMoves.split(" -> ")) {
+            Node next = null;
+            for (Node successor : saveWesteros.expand(node, operators)) {
+                if (successor.getOperator().getName().equals(move)) {
+                    next = successor;
+                }
+            }
+            assertTrue(next != null, "The plan move " + move + " is not applicable");
+            node = next;
+            nodes.add(node);
+        }
+        assertTrue(saveWesteros.isGoal(node.getState()), "The plan does not reach the goal");
+        return nodes;
+    }
+}
@@ -0,0 +1,102 @@
+package SaveWesteros;
+
+import Search.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Every repaired plan has to cost what a search from scratch over the changed grid finds
+class IncrementalSolverTest {
+    private static final int GRIDS = 20;
+    private static final int UPDATES = 8;
+    private static final Strategy[] STRATEGIES = {Strategy.UC, Strategy.AS3, Strategy.AS4};
+
+    @Test
+    void updatesMatchUniformCostFromScratch() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(8, 8, 51);
+        for (int i = 0; i < GRIDS; i++) {
+            for (Strategy strategy : STRATEGIES) {
+                Grid grid = gridGenerator.generate(i);
+                Random random = new Random(i);
+                IncrementalSolver incrementalSolver = new IncrementalSolver(grid, strategy);
+                assertSameCost(grid, incrementalSolver.solve(), strategy + " on grid " + i);
+                for (int j = 0; j < UPDATES; j++) {
+                    SearchResult searchResult = incrementalSolver.update(randomChanges(grid, random));
+                    assertSameCost(grid, searchResult, strategy + " on grid " + i + " after update " + j);
+                }
+            }
+        }
+    }
+
+    @Test
+    void failedUpdateKeepsTheChangesBeforeIt() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(8, 8, 52);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            IncrementalSolver incrementalSolver = new IncrementalSolver(grid, Strategy.AS4);
+            incrementalSolver.solve();
+            List<GridChange> changes = Arrays.asList(
+                    GridChange.addObstacle(randomEmptyCell(grid, new Random(i))),
+                    GridChange.addObstacle(new Cell(grid.getM(), 0)));
+            assertThrows(IllegalArgumentException.class, () -> incrementalSolver.update(changes));
+            assertSameCost(grid, incrementalSolver.solve(), "grid " + i);
+        }
+    }
+
+    private static void assertSameCost(Grid grid, SearchResult searchResult, String message) throws Exception {
+        SearchResult uniformCost = new SaveWesteros().solve(grid, Strategy.UC, false);
+        assertEquals(uniformCost.isSolved(), searchResult.isSolved(), message);
+        assertEquals(uniformCost.getSolutionCost(), searchResult.getSolutionCost(), message);
+    }
+
+    // One to three changes, each adding an obstacle, removing one or moving a white walker
+    private static List<GridChange> randomChanges(Grid grid, Random random) {
+        List<GridChange> changes = new ArrayList<>();
+        List<Cell> obstacles = new ArrayList<>(grid.getObstacles());
+        List<Cell> whiteWalkers = new ArrayList<>(grid.getWhiteWalkers());
+        List<Cell> changed = new ArrayList<>();
+        for (int count = 1 + random.nextInt(3); changes.size() < count; ) {
+            Cell empty = randomEmptyCell(grid, random);
+            if (changed.contains(empty)) {
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0:
+                    changes.add(GridChange.addObstacle(empty));
+                    changed.add(empty);
+                    break;
+                case 1:
+                    Cell obstacle = obstacles.get(random.nextInt(obstacles.size()));
+                    if (!changed.contains(obstacle)) {
+                        changes.add(GridChange.removeObstacle(obstacle));
+                        changed.add(obstacle);
+                    }
+                    break;
+                default:
+                    Cell whiteWalker = whiteWalkers.get(random.nextInt(whiteWalkers.size()));
+                    if (!changed.contains(whiteWalker)) {
+                        changes.add(GridChange.moveWhiteWalker(whiteWalker, empty));
+                        changed.add(whiteWalker);
+                        changed.add(empty);
+                    }
+            }
+        }
+        return changes;
+    }
+
+    private static Cell randomEmptyCell(Grid grid, Random random) {
+        while (true) {
+            Cell cell = new Cell(random.nextInt(grid.getM()), random.nextInt(grid.getN()));
+            if (!cell.equals(grid.getAgentCell()) && !cell.equals(grid.getDragonStone()) && !grid.getObstacles().contains(cell)
+                    && !grid.getWhiteWalkers().contains(cell)) {
+                return cell;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package SaveWesteros;
+
+import Search.SearchBudget;
+import Search.Strategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Simplified memory bounded A* is optimal when its node limit holds the whole search, and never beats the optimum below it.
+// Below it, proving a grid unsolvable takes regenerating exponentially many paths, so those searches get an expansion budget.
+class MemoryBoundedSearchTest {
+    private static final int GRIDS = 30;
+    private static final long EXPANSION_LIMIT = 200_000;
+    private static final Strategy[] ADMISSIBLE_STRATEGIES = {Strategy.SMA3, Strategy.SMA4};
+
+    @Test
+    void largeNodeLimitMatchesUniformCost() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(6, 6, 41);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult uniformCost = new SaveWesteros().solve(grid, Strategy.UC, false);
+            for (Strategy strategy : ADMISSIBLE_STRATEGIES) {
+                SearchResult searchResult = solve(grid, strategy, 1_000_000);
+                assertEquals(uniformCost.isSolved(), searchResult.isSolved(), strategy + " on grid " + i);
+                assertEquals(uniformCost.getSolutionCost(), searchResult.getSolutionCost(), strategy + " on grid " + i);
+            }
+        }
+    }
+
+    @Test
+    void smallNodeLimitNeverBeatsUniformCost() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(6, 6, 42);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult uniformCost = new SaveWesteros().solve(grid, Strategy.UC, false);
+            for (Strategy strategy : ADMISSIBLE_STRATEGIES) {
+                SearchResult searchResult = solve(grid, strategy, 64);
+                if (searchResult.isSolved()) {
+                    assertTrue(uniformCost.isSolved(), strategy + " solved unsolvable grid " + i);
+                    assertTrue(searchResult.getSolutionCost() >= uniformCost.getSolutionCost(), strategy + " on grid " + i);
+                }
+            }
+        }
+    }
+
+    private static SearchResult solve(Grid grid, Strategy strategy, int nodeLimit) throws Exception {
+        SaveWesteros saveWesteros = new SaveWesteros();
+        saveWesteros.setNodeLimit(nodeLimit);
+        saveWesteros.setSearchBudget(new SearchBudget(0, EXPANSION_LIMIT, 0));
+        return saveWesteros.solve(grid, strategy, false);
+    }
+}
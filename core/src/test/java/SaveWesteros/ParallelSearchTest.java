@@ -0,0 +1,85 @@
+package SaveWesteros;
+
+import Search.Node;
+import Search.Operator;
+import Search.Problem;
+import Search.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// Parallel searches have to find plans as good as their single threaded counterparts
+class ParallelSearchTest {
+    private static final int GRIDS = 30;
+    private static final int PARALLELISM = 4;
+
+    @Test
+    void hashDistributedSearchMatchesSingleThreadedCost() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(8, 8, 21);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            for (Strategy strategy : new Strategy[]{Strategy.UC, Strategy.AS4}) {
+                SearchResult expected = new SaveWesteros().solve(grid, strategy, false);
+                SearchResult searchResult = solveInParallel(grid, strategy);
+                assertEquals(expected.isSolved(), searchResult.isSolved(), strategy + " on grid " + i);
+                assertEquals(expected.getSolutionCost(), searchResult.getSolutionCost(), strategy + " on grid " + i);
+            }
+        }
+    }
+
+    @Test
+    void parallelBreadthFirstSearchMatchesBreadthFirstDepth() throws Exception {
+        GridGenerator gridGenerator = new GridGenerator(8, 8, 22);
+        for (int i = 0; i < GRIDS; i++) {
+            Grid grid = gridGenerator.generate(i);
+            SearchResult expected = new SaveWesteros().solve(grid, Strategy.BF, false);
+            SearchResult searchResult = solveInParallel(grid, Strategy.BF);
+            assertEquals(expected.isSolved(), searchResult.isSolved(), "Grid " + i);
+            assertEquals(expected.getChosenExpandedNodesCount(), searchResult.getChosenExpandedNodesCount(), "Grid " + i);
+        }
+    }
+
+    @Test
+    void hashDistributedSearchReportsFailingWorker() throws Exception {
+        Grid grid = new Grid(12, 12, 6, 6, 3);
+        FailingSaveWesteros saveWesteros = new FailingSaveWesteros(500);
+        saveWesteros.setParallelism(PARALLELISM);
+        IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                () -> assertThrows(IllegalStateException.class, () -> saveWesteros.solve(grid, Strategy.AS4, false)));
+        assertEquals(IllegalArgumentException.class, exception.getCause().getClass());
+    }
+
+    private static SearchResult solveInParallel(Grid grid, Strategy strategy) {
+        SaveWesteros saveWesteros = new SaveWesteros();
+        saveWesteros.setParallelism(PARALLELISM);
+        return saveWesteros.solve(grid, strategy, false);
+    }
+
+    // Fails the given expansion of any of its workers, which all share this instance
+    private static class FailingSaveWesteros extends SaveWesteros {
+        private AtomicInteger expansionsLeft;
+
+        FailingSaveWesteros(int expansions) {
+            expansionsLeft = new AtomicInteger(expansions);
+        }
+
+        @Override
+        public void expand(Node node, List<Operator> operators, List<Node> successors) {
+            if (expansionsLeft.decrementAndGet() == 0) {
+                throw new IllegalArgumentException("Failed expansion");
+            }
+            super.expand(node, operators, successors);
+        }
+
+        @Override
+        public Problem createWorker() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package SaveWesteros;
+
+public class BatchResult {
+    private int gridIndex;
+    private Grid grid;
+    private SearchResult searchResult;
+    private boolean timedOut;
+    private long elapsedNanos;
+    private Throwable error;
+
+    public BatchResult(int gridIndex, Grid grid, SearchResult searchResult, boolean timedOut, long elapsedNanos, Throwable error) {
+        this.gridIndex = gridIndex;
+        this.grid = grid;
+        this.searchResult = searchResult;
+        this.timedOut = timedOut;
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+
+    // Position of the grid in the submitted stream
+    public int getGridIndex() {
+        return gridIndex;
+    }
+
+    public Grid getGrid() {
+        return grid;
+    }
+
+    public SearchResult getSearchResult() {
+        return searchResult;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // What the search threw, if it failed instead of finishing
+    public Throwable getError() {
+        return error;
+    }
+}
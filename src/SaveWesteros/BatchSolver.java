@@ -0,0 +1,99 @@
+package SaveWesteros;
+
+import Search.CancellationToken;
+import Search.Strategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Solves many grids with many strategies on a work-stealing pool, every task searching in its own SaveWesteros context
+public class BatchSolver {
+    private ForkJoinPool pool;
+    private ScheduledExecutorService timer;
+    private int maxTasksInFlight;
+
+    public BatchSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchSolver(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+        ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "batch-solver-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduledExecutor.setRemoveOnCancelPolicy(true);
+        timer = scheduledExecutor;
+        // Grids are only pulled from the stream while few enough tasks are pending, so huge streams are never buffered
+        maxTasksInFlight = parallelism * 4;
+    }
+
+    // Solves every grid with every strategy, passing each result to the consumer on the calling thread as soon as it finishes.
+    // A task that runs longer than the timeout is cancelled and reported as timed out.
+    public BatchStatistics solve(Stream<Grid> grids, Collection<Strategy> strategies, long timeout, TimeUnit unit, Consumer<BatchResult> consumer) throws InterruptedException {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("At least one strategy is required");
+        }
+        List<Strategy> strategyList = new ArrayList<>(strategies);
+        BlockingQueue<BatchResult> results = new LinkedBlockingQueue<>();
+        BatchStatistics statistics = new BatchStatistics();
+        Iterator<Grid> gridIterator = grids.iterator();
+        long start = System.nanoTime();
+        long timeoutNanos = unit.toNanos(timeout);
+        int gridIndex = 0;
+        int tasksInFlight = 0;
+        while (gridIterator.hasNext() || tasksInFlight > 0) {
+            while (tasksInFlight < maxTasksInFlight && gridIterator.hasNext()) {
+                Grid grid = gridIterator.next();
+                for (Strategy strategy : strategyList) {
+                    int index = gridIndex;
+                    pool.execute(() -> results.add(solve(index, grid, strategy, timeoutNanos)));
+                    tasksInFlight++;
+                }
+                gridIndex++;
+            }
+            BatchResult result = results.take();
+            tasksInFlight--;
+            statistics.record(result);
+            consumer.accept(result);
+        }
+        statistics.setElapsedNanos(System.nanoTime() - start);
+        return statistics;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private BatchResult solve(int gridIndex, Grid grid, Strategy strategy, long timeoutNanos) {
+        long start = System.nanoTime();
+        CancellationToken cancellationToken = new CancellationToken();
+        ScheduledFuture<?> timeout = timer.schedule(cancellationToken::cancel, timeoutNanos, TimeUnit.NANOSECONDS);
+        SaveWesteros saveWesteros = new SaveWesteros();
+        saveWesteros.setCancellationToken(cancellationToken);
+        SearchResult searchResult = new SearchResult(strategy);
+        Throwable error = null;
+        try {
+            searchResult = saveWesteros.solve(grid, strategy, false);
+        } catch (RuntimeException | Error e) {
+            // Always report back, the caller waits for one result per task
+            error = e;
+        } finally {
+            timeout.cancel(false);
+        }
+        return new BatchResult(gridIndex, grid, searchResult, !searchResult.isSolved() && cancellationToken.isCancelled(), System.nanoTime() - start, error);
+    }
+}
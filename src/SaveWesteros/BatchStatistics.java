@@ -0,0 +1,65 @@
+package SaveWesteros;
+
+public class BatchStatistics {
+    private long tasks;
+    private long solved;
+    private long timedOut;
+    private long failed;
+    private long searchNanos;
+    private long elapsedNanos;
+
+    void record(BatchResult result) {
+        tasks++;
+        if (result.getError() != null) {
+            failed++;
+        } else if (result.getSearchResult().isSolved()) {
+            solved++;
+        } else if (result.isTimedOut()) {
+            timedOut++;
+        }
+        searchNanos += result.getElapsedNanos();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getSolved() {
+        return solved;
+    }
+
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getUnsolved() {
+        return tasks - solved - timedOut - failed;
+    }
+
+    // Wall clock time of the whole batch
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // Time spent searching summed over all tasks, divided by the elapsed time this is the average number of running tasks
+    public long getSearchNanos() {
+        return searchNanos;
+    }
+
+    public double getTasksPerSecond() {
+        return elapsedNanos == 0 ? 0 : tasks * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d tasks (%d solved, %d unsolved, %d timed out, %d failed) in %.3f s, %.1f tasks/s, %.2f tasks running on average", tasks, solved, getUnsolved(), timedOut, failed, elapsedNanos / 1e9, getTasksPerSecond(), elapsedNanos == 0 ? 0 : (double) searchNanos / elapsedNanos);
+    }
+}
@@ -1,5 +1,6 @@
 package SaveWesteros;
 
+// Cells are created on demand and compared by their coordinates
 public class Cell {
     private int row;
     private int col;
@@ -16,4 +17,14 @@ public class Cell {
     public int getCol() {
         return col;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Cell && row == ((Cell) o).row && col == ((Cell) o).col;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * row + col;
+    }
 }
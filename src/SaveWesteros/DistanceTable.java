@@ -0,0 +1,251 @@
+package SaveWesteros;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shortest move distances the heuristics are built from. Grids whose breadth first search tables, one per white walker and
+// one for the dragonstone, fit in MAX_TABLE_ENTRIES get them. Larger ones use Manhattan distances instead, which ignore the
+// obstacles, so they are still lower bounds, only weaker ones. Distances between white walkers are kept in a table under
+// the same limit and worked out from the kill positions otherwise.
+public class DistanceTable {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int DIRECTIONS = 4;
+    private static final long MAX_TABLE_ENTRIES = 1 << 22;
+    private int[] dragonStoneDistances;
+    private int[][] killDistances;
+    private int[][] whiteWalkerDistances;
+    private int dragonStonePosition;
+    private int n;
+    private int[][] whiteWalkerKillPositions;
+    private int[][] sharingWhiteWalkers;
+    private Map<WhiteWalkerSet, Integer> killsNeeded;
+    private Map<WhiteWalkerSet, Integer> spanningTreeDistances;
+    private Map<WhiteWalkerSet, Integer> spanningTreeDistancesThroughDragonStone;
+
+    public DistanceTable(Grid grid) {
+        SuccessorTable successorTable = grid.getSuccessorTable();
+        int positions = grid.getM() * grid.getN();
+        List<Cell> whiteWalkers = grid.getWhiteWalkers();
+        boolean tabled = (long) positions * (whiteWalkers.size() + 1) <= MAX_TABLE_ENTRIES;
+        int[] queue = tabled ? new int[positions] : null;
+        n = grid.getN();
+        dragonStonePosition = grid.getPosition(grid.getDragonStone());
+        if (tabled) {
+            dragonStoneDistances = new int[positions];
+            breadthFirst(successorTable, new int[]{dragonStonePosition}, 1, dragonStoneDistances, queue);
+        }
+
+        killDistances = tabled ? new int[whiteWalkers.size()][] : null;
+        whiteWalkerKillPositions = new int[whiteWalkers.size()][];
+        int[] killPositions = new int[DIRECTIONS];
+        for (int i = 0; i < whiteWalkers.size(); i++) {
+            // A white walker can be killed from any free cell next to it, which is exactly where its cell's moves lead
+            int whiteWalkerPosition = grid.getPosition(whiteWalkers.get(i));
+            int killPositionsCount = 0;
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                int next = successorTable.getNeighbor(whiteWalkerPosition, direction);
+                if (next >= 0) {
+                    killPositions[killPositionsCount++] = next;
+                }
+            }
+            if (tabled) {
+                killDistances[i] = new int[positions];
+                breadthFirst(successorTable, killPositions, killPositionsCount, killDistances[i], queue);
+            }
+            whiteWalkerKillPositions[i] = Arrays.copyOf(killPositions, killPositionsCount);
+        }
+
+        if ((long) whiteWalkers.size() * whiteWalkers.size() <= MAX_TABLE_ENTRIES) {
+            whiteWalkerDistances = new int[whiteWalkers.size()][whiteWalkers.size()];
+            for (int i = 0; i < whiteWalkers.size(); i++) {
+                for (int j = 0; j < whiteWalkers.size(); j++) {
+                    whiteWalkerDistances[i][j] = computeWhiteWalkerDistance(i, j);
+                }
+            }
+        }
+        sharingWhiteWalkers = findSharingWhiteWalkers();
+        killsNeeded = new ConcurrentHashMap<>();
+        spanningTreeDistances = new ConcurrentHashMap<>();
+        spanningTreeDistancesThroughDragonStone = new ConcurrentHashMap<>();
+    }
+
+    // For every white walker the others it shares a kill position with, the only ones a single kill can take along with it
+    private int[][] findSharingWhiteWalkers() {
+        Map<Integer, List<Integer>> whiteWalkersByKillPosition = new HashMap<>();
+        for (int i = 0; i < whiteWalkerKillPositions.length; i++) {
+            for (int killPosition : whiteWalkerKillPositions[i]) {
+                whiteWalkersByKillPosition.computeIfAbsent(killPosition, position -> new ArrayList<>()).add(i);
+            }
+        }
+        int[][] sharing = new int[whiteWalkerKillPositions.length][];
+        for (int i = 0; i < whiteWalkerKillPositions.length; i++) {
+            List<Integer> others = new ArrayList<>();
+            for (int killPosition : whiteWalkerKillPositions[i]) {
+                for (int other : whiteWalkersByKillPosition.get(killPosition)) {
+                    if (other != i && !others.contains(other)) {
+                        others.add(other);
+                    }
+                }
+            }
+            sharing[i] = others.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return sharing;
+    }
+
+    // Number of moves from the position to the dragonstone, moves are reversible so this is also the distance back
+    public int getDragonStoneDistance(int position) {
+        return dragonStoneDistances != null ? dragonStoneDistances[position] : getManhattanDistance(position, dragonStonePosition);
+    }
+
+    // Number of moves from the position to the nearest cell the white walker can be killed from
+    public int getKillDistance(int whiteWalker, int position) {
+        if (killDistances != null) {
+            return killDistances[whiteWalker][position];
+        }
+        int distance = UNREACHABLE;
+        for (int killPosition : whiteWalkerKillPositions[whiteWalker]) {
+            distance = Math.min(distance, getManhattanDistance(position, killPosition));
+        }
+        return distance;
+    }
+
+    // Shortest distance between any kill position of one white walker and any kill position of another
+    private int computeWhiteWalkerDistance(int whiteWalker, int otherWhiteWalker) {
+        int distance = UNREACHABLE;
+        for (int killPosition : whiteWalkerKillPositions[otherWhiteWalker]) {
+            distance = Math.min(distance, getKillDistance(whiteWalker, killPosition));
+        }
+        return distance;
+    }
+
+    private int getManhattanDistance(int position, int otherPosition) {
+        return Math.abs(position / n - otherPosition / n) + Math.abs(position % n - otherPosition % n);
+    }
+
+    // Least number of kills that take all of the white walkers. A kill takes at most one white walker per direction, all
+    // sharing the cell it is made from, so every group of white walkers linked by shared kill positions needs its own kills.
+    public int getKillsNeeded(WhiteWalkerSet whiteWalkers) {
+        Integer kills = killsNeeded.get(whiteWalkers);
+        if (kills == null) {
+            kills = computeKillsNeeded(whiteWalkers);
+            killsNeeded.put(whiteWalkers, kills);
+        }
+        return kills;
+    }
+
+    private int computeKillsNeeded(WhiteWalkerSet whiteWalkers) {
+        boolean[] grouped = new boolean[sharingWhiteWalkers.length];
+        int[] stack = new int[whiteWalkers.size()];
+        int kills = 0;
+        for (int i = whiteWalkers.nextIndex(0); i >= 0; i = whiteWalkers.nextIndex(i + 1)) {
+            if (grouped[i]) {
+                continue;
+            }
+            grouped[i] = true;
+            stack[0] = i;
+            int stackSize = 1;
+            int groupSize = 0;
+            while (stackSize > 0) {
+                int whiteWalker = stack[--stackSize];
+                groupSize++;
+                for (int other : sharingWhiteWalkers[whiteWalker]) {
+                    if (!grouped[other] && whiteWalkers.contains(other)) {
+                        grouped[other] = true;
+                        stack[stackSize++] = other;
+                    }
+                }
+            }
+            kills += (groupSize + DIRECTIONS - 1) / DIRECTIONS;
+        }
+        return kills;
+    }
+
+    // Weight of a minimum spanning tree over the kill positions of the white walkers, optionally with the dragonstone.
+    // Any route that kills all of them visits every one of these places, so it is at least this long.
+    public int getSpanningTreeDistance(WhiteWalkerSet whiteWalkers, boolean throughDragonStone) {
+        Map<WhiteWalkerSet, Integer> distances = throughDragonStone ? spanningTreeDistancesThroughDragonStone : spanningTreeDistances;
+        Integer distance = distances.get(whiteWalkers);
+        if (distance == null) {
+            distance = computeSpanningTreeDistance(whiteWalkers, throughDragonStone);
+            distances.put(whiteWalkers, distance);
+        }
+        return distance;
+    }
+
+    private int computeSpanningTreeDistance(WhiteWalkerSet whiteWalkers, boolean throughDragonStone) {
+        int count = whiteWalkers.size();
+        int[] vertices = new int[count + 1];
+        int verticesCount = 0;
+        for (int i = whiteWalkers.nextIndex(0); i >= 0; i = whiteWalkers.nextIndex(i + 1)) {
+            vertices[verticesCount++] = i;
+        }
+        // The dragonstone is represented by -1
+        if (throughDragonStone) {
+            vertices[verticesCount++] = -1;
+        }
+        if (verticesCount == 0) {
+            return 0;
+        }
+        int[] closest = new int[verticesCount];
+        boolean[] inTree = new boolean[verticesCount];
+        Arrays.fill(closest, UNREACHABLE);
+        closest[0] = 0;
+        int total = 0;
+        for (int added = 0; added < verticesCount; added++) {
+            int next = -1;
+            for (int i = 0; i < verticesCount; i++) {
+                if (!inTree[i] && (next < 0 || closest[i] < closest[next])) {
+                    next = i;
+                }
+            }
+            if (closest[next] == UNREACHABLE) {
+                return UNREACHABLE;
+            }
+            inTree[next] = true;
+            total += closest[next];
+            for (int i = 0; i < verticesCount; i++) {
+                if (!inTree[i]) {
+                    closest[i] = Math.min(closest[i], getDistance(vertices[next], vertices[i]));
+                }
+            }
+        }
+        return total;
+    }
+
+    private int getDistance(int whiteWalker, int otherWhiteWalker) {
+        if (whiteWalker < 0) {
+            return otherWhiteWalker < 0 ? 0 : getKillDistance(otherWhiteWalker, dragonStonePosition);
+        }
+        if (otherWhiteWalker < 0) {
+            return getKillDistance(whiteWalker, dragonStonePosition);
+        }
+        return whiteWalkerDistances != null ? whiteWalkerDistances[whiteWalker][otherWhiteWalker] : computeWhiteWalkerDistance(whiteWalker, otherWhiteWalker);
+    }
+
+    private static void breadthFirst(SuccessorTable successorTable, int[] sources, int sourcesCount, int[] distances, int[] queue) {
+        Arrays.fill(distances, UNREACHABLE);
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < sourcesCount; i++) {
+            if (distances[sources[i]] == UNREACHABLE) {
+                distances[sources[i]] = 0;
+                queue[tail++] = sources[i];
+            }
+        }
+        while (head < tail) {
+            int position = queue[head++];
+            int distance = distances[position] + 1;
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                int next = successorTable.getNeighbor(position, direction);
+                if (next >= 0 && distances[next] == UNREACHABLE) {
+                    distances[next] = distance;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+}
@@ -1,33 +1,37 @@
 package SaveWesteros;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
 public class Grid {
     private int m;
     private int n;
-    private Cell[][] cells;
     private Cell dragonStone;
     private Cell agentCell;
     private List<Cell> obstacles;
     private List<Cell> whiteWalkers;
     private int agentCapacity;
+    private SuccessorTable successorTable;
+    private DistanceTable distanceTable;
+    private String fingerprint;
+    // One bit per position, set where the agent, the dragonstone, an obstacle or a white walker is
+    private long[] occupied;
+    // Randomly sized grids are at most this large, explicit dimensions are only limited by positions having to fit in an int
     public static final int MAX_DIMENSION = 60;
+    // Grids with more positions than this keep no successor table entry per position, see DistanceTable for its own limit
+    static final int MAX_TABLE_POSITIONS = 1 << 18;
     public static final int MIN_DIMENSION = 4;
     public static final int MIN_WHITE_WALKERS = 3;
     public static final int MIN_OBSTACLES = 3;
     public static final int MIN_AGENT_CAPACITY = 1;
 
     public Grid() {
-        Random rand = new Random();
-        m = rand.nextInt((MAX_DIMENSION - MIN_DIMENSION) + 1) + MIN_DIMENSION;
-        n = rand.nextInt((MAX_DIMENSION - MIN_DIMENSION) + 1) + MIN_DIMENSION;
-        obstacles = new ArrayList<>();
-        whiteWalkers = new ArrayList<>();
-        cells = new Cell[m][n];
-        initCells();
-        generateMap();
+        this(new Random());
     }
 
     public Grid(int n) throws Exception {
@@ -35,16 +39,57 @@ public class Grid {
     }
 
     public Grid(int m, int n) throws Exception {
-        if (!(m >= MIN_DIMENSION && m <= MAX_DIMENSION && n >= MIN_DIMENSION && n <= MAX_DIMENSION)) {
-            throw new Exception("Map dimensions minimum is " + MIN_DIMENSION + " and maximum " + MAX_DIMENSION);
-        }
+        this(m, n, new Random().nextLong());
+    }
+
+    // The same seed always gives the same grid
+    public Grid(int n, long seed) throws Exception {
+        this(n, n, seed);
+    }
+
+    public Grid(int m, int n, long seed) throws Exception {
+        this(new Random(seed), checkDimensions(m, n), n);
+    }
+
+    // A reproducible grid with the given numbers of white walkers and obstacles
+    public Grid(int m, int n, int whiteWalkersNumber, int obstaclesNumber, long seed) throws Exception {
+        this(new Random(seed), checkDimensions(m, n), n, checkContents(m, n, whiteWalkersNumber, obstaclesNumber), obstaclesNumber);
+    }
+
+    private Grid(Random rand) {
+        this(rand, rand.nextInt((MAX_DIMENSION - MIN_DIMENSION) + 1) + MIN_DIMENSION, rand.nextInt((MAX_DIMENSION - MIN_DIMENSION) + 1) + MIN_DIMENSION);
+    }
+
+    Grid(Random rand, int m, int n) {
+        this(rand, m, n, rand.nextInt((n - MIN_WHITE_WALKERS) + 1) + MIN_WHITE_WALKERS, rand.nextInt((n - MIN_OBSTACLES) + 1) + MIN_OBSTACLES);
+    }
+
+    // Everything drawn from the one random generator, with the dimensions and contents already checked
+    Grid(Random rand, int m, int n, int whiteWalkersNumber, int obstaclesNumber) {
         this.m = m;
         this.n = n;
-        obstacles = new ArrayList<>();
-        whiteWalkers = new ArrayList<>();
-        cells = new Cell[m][n];
-        initCells();
-        generateMap();
+        obstacles = new ArrayList<>(obstaclesNumber);
+        whiteWalkers = new ArrayList<>(whiteWalkersNumber);
+        occupied = new long[(int) ((m * n + 63L) >>> 6)];
+        generateMap(rand, whiteWalkersNumber, obstaclesNumber);
+    }
+
+    // Returns m, so that the constructors can check before delegating
+    static int checkDimensions(int m, int n) throws Exception {
+        if (m < MIN_DIMENSION || n < MIN_DIMENSION) {
+            throw new Exception("Map dimensions minimum is " + MIN_DIMENSION);
+        }
+        if ((long) m * n > Integer.MAX_VALUE) {
+            throw new Exception("A " + m + " x " + n + " map has more positions than an int can number");
+        }
+        return m;
+    }
+
+    static int checkContents(int m, int n, int whiteWalkersNumber, int obstaclesNumber) throws Exception {
+        if (whiteWalkersNumber < 1 || obstaclesNumber < 0 || whiteWalkersNumber + obstaclesNumber + 2 > m * n) {
+            throw new Exception("A " + m + " x " + n + " map cannot hold " + whiteWalkersNumber + " white walkers and " + obstaclesNumber + " obstacles");
+        }
+        return whiteWalkersNumber;
     }
 
     public int getM() {
@@ -55,10 +100,33 @@ public class Grid {
         return n;
     }
 
+    // A new array of new cells, as the grid itself keeps none
     public Cell[][] getCells() {
+        Cell[][] cells = new Cell[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                cells[i][j] = new Cell(i, j);
+            }
+        }
         return cells;
     }
 
+    public Cell getCell(int position) {
+        return new Cell(position / n, position % n);
+    }
+
+    public int getRow(int position) {
+        return position / n;
+    }
+
+    public int getCol(int position) {
+        return position % n;
+    }
+
+    public int getPosition(Cell cell) {
+        return cell.getRow() * n + cell.getCol();
+    }
+
     public Cell getDragonStone() {
         return dragonStone;
     }
@@ -79,57 +147,163 @@ public class Grid {
         return agentCapacity;
     }
 
-    private void initCells() {
-        for (int i = 0; i < m; i++) {
-            for (int j = 0; j < n; j++) {
-                cells[i][j] = new Cell(i, j);
-            }
+    public synchronized SuccessorTable getSuccessorTable() {
+        if (successorTable == null) {
+            successorTable = new SuccessorTable(this);
         }
+        return successorTable;
     }
 
-    private void generateMap() {
-        Random rand = new Random();
-        int whiteWalkersNumber = rand.nextInt((n - MIN_WHITE_WALKERS) + 1) + MIN_WHITE_WALKERS;
-        int obstaclesNumber = rand.nextInt((n - MIN_OBSTACLES) + 1) + MIN_OBSTACLES;
-        List<String> existingCoordinates = new ArrayList<>();
-        int tmpRow = m - 1;
-        int tmpCol = n - 1;
-
-        // Place agent
-        agentCell = cells[tmpRow][tmpCol];
-        existingCoordinates.add(tmpRow + " " + tmpCol);
-
-        // Place obstacles
-        for (int i = 0; i < obstaclesNumber; i++) {
-            do {
-                tmpRow = rand.nextInt(m);
-                tmpCol = rand.nextInt(n);
-            } while (existingCoordinates.contains(tmpRow + " " + tmpCol));
-            existingCoordinates.add(tmpRow + " " + tmpCol);
-            obstacles.add(cells[tmpRow][tmpCol]);
+    public synchronized DistanceTable getDistanceTable() {
+        if (distanceTable == null) {
+            distanceTable = new DistanceTable(this);
         }
+        return distanceTable;
+    }
 
-        // Place White Walkers
-        for (int i = 0; i < whiteWalkersNumber; i++) {
-            do {
-                tmpRow = rand.nextInt(m);
-                tmpCol = rand.nextInt(n);
-            }
-            while (existingCoordinates.contains(tmpRow + " " + tmpCol));
-            existingCoordinates.add(tmpRow + " " + tmpCol);
-            whiteWalkers.add(cells[tmpRow][tmpCol]);
+    // Changes drop the cached tables, so searches over the grid started after a change see it. A search running during a
+    // change does not.
+    public synchronized void addObstacle(Cell cell) {
+        checkInside(cell);
+        checkEmpty(cell);
+        obstacles.add(cell);
+        setOccupied(getPosition(cell), true);
+        invalidateTables();
+    }
+
+    public synchronized void removeObstacle(Cell cell) {
+        checkInside(cell);
+        if (!obstacles.remove(cell)) {
+            throw new IllegalArgumentException("There is no obstacle at " + cell.getRow() + ", " + cell.getCol());
+        }
+        setOccupied(getPosition(cell), false);
+        invalidateTables();
+    }
+
+    // The white walker keeps its index, so states of searches over the grid still refer to the same white walker
+    public synchronized void moveWhiteWalker(Cell from, Cell to) {
+        checkInside(from);
+        checkInside(to);
+        int index = whiteWalkers.indexOf(from);
+        if (index < 0) {
+            throw new IllegalArgumentException("There is no white walker at " + from.getRow() + ", " + from.getCol());
+        }
+        checkEmpty(to);
+        whiteWalkers.set(index, to);
+        setOccupied(getPosition(from), false);
+        setOccupied(getPosition(to), true);
+        invalidateTables();
+    }
+
+    private void checkInside(Cell cell) {
+        if (cell.getRow() < 0 || cell.getRow() >= m || cell.getCol() < 0 || cell.getCol() >= n) {
+            throw new IllegalArgumentException("The cell " + cell.getRow() + ", " + cell.getCol() + " is outside the grid");
+        }
+    }
+
+    private void checkEmpty(Cell cell) {
+        if (isOccupied(getPosition(cell))) {
+            throw new IllegalArgumentException("The cell " + cell.getRow() + ", " + cell.getCol() + " is not empty");
+        }
+    }
+
+    private boolean isOccupied(int position) {
+        return (occupied[position >>> 6] & (1L << position)) != 0;
+    }
+
+    private void setOccupied(int position, boolean occupied) {
+        if (occupied) {
+            this.occupied[position >>> 6] |= 1L << position;
+        } else {
+            this.occupied[position >>> 6] &= ~(1L << position);
         }
+    }
+
+    private void invalidateTables() {
+        successorTable = null;
+        distanceTable = null;
+        fingerprint = null;
+    }
 
-        // Place the dragonstone
-        do {
-            tmpRow = rand.nextInt(m);
-            tmpCol = rand.nextInt(n);
-        } while (existingCoordinates.contains(tmpRow + " " + tmpCol));
-        dragonStone = cells[tmpRow][tmpCol];
+    // A hash of everything a plan depends on, equal for grids with the same contents. Obstacles are hashed in position order,
+    // so the order they were placed in does not matter, while white walkers keep their order as states refer to them by index.
+    public synchronized String getFingerprint() {
+        if (fingerprint == null) {
+            int[] obstaclePositions = obstacles.stream().mapToInt(this::getPosition).sorted().toArray();
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (6 + obstaclePositions.length + whiteWalkers.size()));
+            buffer.putInt(m).putInt(n).putInt(agentCapacity).putInt(getPosition(agentCell)).putInt(getPosition(dragonStone));
+            buffer.putInt(obstaclePositions.length);
+            for (int position : obstaclePositions) {
+                buffer.putInt(position);
+            }
+            for (Cell whiteWalker : whiteWalkers) {
+                buffer.putInt(getPosition(whiteWalker));
+            }
+            try {
+                StringBuilder hex = new StringBuilder();
+                for (byte b : MessageDigest.getInstance("SHA-256").digest(buffer.array())) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                fingerprint = hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+        return fingerprint;
+    }
 
+    // The agent starts in the bottom right corner, the obstacles, white walkers and the dragonstone take distinct positions
+    // among all the others
+    private void generateMap(Random rand, int whiteWalkersNumber, int obstaclesNumber) {
+        int agentPosition = m * n - 1;
+        agentCell = getCell(agentPosition);
+        setOccupied(agentPosition, true);
+        int[] positions = samplePositions(rand, agentPosition, obstaclesNumber + whiteWalkersNumber + 1);
+        for (int i = 0; i < positions.length; i++) {
+            Cell cell = getCell(positions[i]);
+            if (i < obstaclesNumber) {
+                obstacles.add(cell);
+            } else if (i < obstaclesNumber + whiteWalkersNumber) {
+                whiteWalkers.add(cell);
+            } else {
+                dragonStone = cell;
+            }
+            setOccupied(positions[i], true);
+        }
         agentCapacity = rand.nextInt((whiteWalkersNumber - MIN_AGENT_CAPACITY) + 1) + MIN_AGENT_CAPACITY;
     }
 
+    // The first count entries of a partial Fisher-Yates shuffle of the positions 0 to range - 1. Only the entries the shuffle
+    // moved are stored, in an open addressing table sized by count, so sampling takes O(count) time and memory whatever the
+    // range.
+    static int[] samplePositions(Random rand, int range, int count) {
+        int capacity = Integer.highestOneBit(Math.max(2, count) * 4 - 1) << 1;
+        int shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        int[] keys = new int[capacity];
+        int[] values = new int[capacity];
+        Arrays.fill(keys, -1);
+        int[] sample = new int[count];
+        for (int i = 0; i < count; i++) {
+            int j = i + rand.nextInt(range - i);
+            int slot = findSlot(keys, j, shift);
+            int iSlot = findSlot(keys, i, shift);
+            sample[i] = keys[slot] == j ? values[slot] : j;
+            // Entry i is never looked at again, so only entry j has to take its value
+            int value = keys[iSlot] == i ? values[iSlot] : i;
+            keys[slot] = j;
+            values[slot] = value;
+        }
+        return sample;
+    }
+
+    private static int findSlot(int[] keys, int key, int shift) {
+        int slot = (key * 0x9E3779B9) >>> shift;
+        while (keys[slot] != -1 && keys[slot] != key) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return slot;
+    }
+
     public void printGridInfo() {
         System.out.println("Generated Grid Size: " + m + " x " + n);
         System.out.println("No. of White Walkers: " + whiteWalkers.size());
@@ -0,0 +1,68 @@
+package SaveWesteros;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// A change to a grid between two plans, see IncrementalSolver
+public class GridChange {
+    public enum Type {
+        ADD_OBSTACLE,
+        REMOVE_OBSTACLE,
+        MOVE_WHITE_WALKER
+    }
+
+    private Type type;
+    private Cell cell;
+    private Cell target;
+
+    private GridChange(Type type, Cell cell, Cell target) {
+        this.type = type;
+        this.cell = cell;
+        this.target = target;
+    }
+
+    public static GridChange addObstacle(Cell cell) {
+        return new GridChange(Type.ADD_OBSTACLE, cell, null);
+    }
+
+    public static GridChange removeObstacle(Cell cell) {
+        return new GridChange(Type.REMOVE_OBSTACLE, cell, null);
+    }
+
+    public static GridChange moveWhiteWalker(Cell from, Cell to) {
+        return new GridChange(Type.MOVE_WHITE_WALKER, from, to);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Cell getCell() {
+        return cell;
+    }
+
+    // Where a moved white walker ends up, null for the other changes
+    public Cell getTarget() {
+        return target;
+    }
+
+    // The cells whose contents change
+    public List<Cell> getChangedCells() {
+        return target == null ? Collections.singletonList(cell) : Arrays.asList(cell, target);
+    }
+
+    void applyTo(Grid grid) {
+        switch (type) {
+            case ADD_OBSTACLE:
+                grid.addObstacle(cell);
+                break;
+            case REMOVE_OBSTACLE:
+                grid.removeObstacle(cell);
+                break;
+            case MOVE_WHITE_WALKER:
+                grid.moveWhiteWalker(cell, target);
+                break;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package SaveWesteros;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// Reproducible grids in bulk. Grid i of a generator only depends on the generator's seed and i, so a run can be split over
+// threads or machines, and any grid of it is regenerated on its own with the Grid constructor and getSeed(i).
+public class GridGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private int m;
+    private int n;
+    private int whiteWalkersNumber;
+    private int obstaclesNumber;
+    private boolean contentsFixed;
+    private long seed;
+
+    // Grids with numbers of white walkers and obstacles drawn like new Grid(m, n, seed) draws them
+    public GridGenerator(int m, int n, long seed) throws Exception {
+        this.m = Grid.checkDimensions(m, n);
+        this.n = n;
+        this.seed = seed;
+    }
+
+    public GridGenerator(int m, int n, int whiteWalkersNumber, int obstaclesNumber, long seed) throws Exception {
+        this.m = Grid.checkDimensions(m, n);
+        this.n = n;
+        this.whiteWalkersNumber = Grid.checkContents(m, n, whiteWalkersNumber, obstaclesNumber);
+        this.obstaclesNumber = obstaclesNumber;
+        contentsFixed = true;
+        this.seed = seed;
+    }
+
+    // The seed of grid i, mixed so that the grids of neighbouring indices are unrelated
+    public long getSeed(long index) {
+        long z = seed + (index + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public Grid generate(long index) {
+        Random rand = new Random(getSeed(index));
+        return contentsFixed ? new Grid(rand, m, n, whiteWalkersNumber, obstaclesNumber) : new Grid(rand, m, n);
+    }
+
+    // The grids from the index on, in order. Parallel streams generate them on several threads.
+    public Stream<Grid> stream(long fromIndex, long count) {
+        return LongStream.range(fromIndex, fromIndex + count).mapToObj(this::generate);
+    }
+}
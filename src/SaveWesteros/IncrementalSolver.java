@@ -0,0 +1,81 @@
+package SaveWesteros;
+
+import Search.LifelongPlanningSearch;
+import Search.Node;
+import Search.Strategy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Keeps the search of one grid between changes to it, so that every new plan only repairs the part of the search the
+// changes affected instead of solving from scratch. Only uniform cost and A* with the third and fourth heuristics are
+// supported, as repairs need a consistent heuristic to keep plans optimal.
+public class IncrementalSolver {
+    private Grid grid;
+    private Strategy strategy;
+    private SaveWesteros saveWesteros;
+    private LifelongPlanningSearch search;
+
+    public IncrementalSolver(Grid grid, Strategy strategy) {
+        if (!(strategy == Strategy.UC || strategy == Strategy.AS3 || strategy == Strategy.AS4)) {
+            throw new IllegalArgumentException(strategy + " cannot search incrementally");
+        }
+        this.grid = grid;
+        this.strategy = strategy;
+        saveWesteros = new SaveWesteros();
+        saveWesteros.prepare(grid, strategy);
+        search = new LifelongPlanningSearch(saveWesteros);
+    }
+
+    // The problem the plans are searched with, for its search budget and statistics
+    public SaveWesteros getSaveWesteros() {
+        return saveWesteros;
+    }
+
+    public Grid getGrid() {
+        return grid;
+    }
+
+    public SearchResult solve() {
+        Node goalNode = search.search();
+        return saveWesteros.createSearchResult(strategy, goalNode, false);
+    }
+
+    // Applies the changes to the grid and returns the repaired plan. A change that cannot be applied throws, and leaves the
+    // changes before it applied and the search refreshed for them.
+    public SearchResult update(List<GridChange> changes) {
+        Set<Integer> changed = new HashSet<>();
+        try {
+            for (GridChange change : changes) {
+                for (Cell cell : change.getChangedCells()) {
+                    markAround(changed, cell);
+                }
+                change.applyTo(grid);
+            }
+        } finally {
+            saveWesteros.prepare(grid, strategy);
+            // Moves into and out of a changed cell and kills next to it are the only successors that can differ
+            search.refresh(state -> changed.contains(((SaveWesterosState) state).getAgentPosition()));
+        }
+        return solve();
+    }
+
+    private void markAround(Set<Integer> changed, Cell cell) {
+        int row = cell.getRow();
+        int col = cell.getCol();
+        changed.add(grid.getPosition(cell));
+        if (row > 0) {
+            changed.add((row - 1) * grid.getN() + col);
+        }
+        if (row < grid.getM() - 1) {
+            changed.add((row + 1) * grid.getN() + col);
+        }
+        if (col > 0) {
+            changed.add(row * grid.getN() + col - 1);
+        }
+        if (col < grid.getN() - 1) {
+            changed.add(row * grid.getN() + col + 1);
+        }
+    }
+}
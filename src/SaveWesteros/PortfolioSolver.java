@@ -0,0 +1,78 @@
+package SaveWesteros;
+
+import Search.CancellationToken;
+import Search.Strategy;
+
+import java.util.Collection;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Races several strategies on the same grid, each on its own thread with its own SaveWesteros search context
+public class PortfolioSolver {
+    private ExecutorService executor;
+
+    public PortfolioSolver() {
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "portfolio-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Returns the first solution any of the strategies finds, or an unsolved result if none is found before the timeout
+    public SearchResult solveFirst(Grid grid, Collection<Strategy> strategies, long timeout, TimeUnit unit) throws InterruptedException {
+        return solve(grid, strategies, timeout, unit, true);
+    }
+
+    // Returns the cheapest solution found by the time all strategies finish or the timeout expires
+    public SearchResult solveCheapest(Grid grid, Collection<Strategy> strategies, long timeout, TimeUnit unit) throws InterruptedException {
+        return solve(grid, strategies, timeout, unit, false);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private SearchResult solve(Grid grid, Collection<Strategy> strategies, long timeout, TimeUnit unit, boolean first) throws InterruptedException {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("At least one strategy is required");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        CancellationToken cancellationToken = new CancellationToken();
+        CompletionService<SearchResult> completionService = new ExecutorCompletionService<>(executor);
+        for (Strategy strategy : strategies) {
+            completionService.submit(() -> {
+                SaveWesteros saveWesteros = new SaveWesteros();
+                saveWesteros.setCancellationToken(cancellationToken);
+                return saveWesteros.solve(grid, strategy, false);
+            });
+        }
+        SearchResult best = null;
+        try {
+            for (int i = 0; i < strategies.size(); i++) {
+                Future<SearchResult> future = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    break;
+                }
+                SearchResult result = future.get();
+                if (result.isSolved() && (best == null || result.getSolutionCost() < best.getSolutionCost())) {
+                    best = result;
+                    if (first) {
+                        break;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Portfolio search failed", e.getCause());
+        } finally {
+            // The remaining searches notice the token at their next expansion
+            cancellationToken.cancel();
+        }
+        return best != null ? best : new SearchResult(null);
+    }
+}
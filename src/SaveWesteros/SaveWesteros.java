@@ -6,18 +6,36 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.OptionalInt;
-import java.util.function.Predicate;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-public class SaveWesteros extends Problem {
+public class SaveWesteros extends Problem implements ExternalMemoryProblem, ParallelProblem {
     private Grid grid;
     private List<Cell> whiteWalkers;
     private List<Cell> obstacles;
     private Cell dragonStone;
     private int agentCapacity;
+    private SuccessorTable successorTable;
+    private DistanceTable distanceTable;
+    private int dragonStonePosition;
     public static final double PICKUP_COST = 5;
     public static final double MOVE_COST = 4;
     public static final double KILL_COST = 4;
+    public static final int UP = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int RIGHT = 3;
+    public static final int PICKUP = 4;
+    public static final int KILL = 5;
+    // A kill adjacent to up to four white walkers, indexed by the number of white walkers killed
+    private static final Operator[] KILL_OPERATORS = new Operator[5];
+
+    static {
+        for (int killed = 0; killed < KILL_OPERATORS.length; killed++) {
+            KILL_OPERATORS[killed] = new Operator(KILL, "KILL", KILL_COST - killed);
+        }
+    }
 
     public SaveWesteros() {
         initOperators();
@@ -26,11 +44,7 @@ public class SaveWesteros extends Problem {
     }
 
     private void initOperators() {
-        super.setOperators(Arrays.asList(new Operator("UP", MOVE_COST), new Operator("DOWN", MOVE_COST), new Operator("LEFT", MOVE_COST), new Operator("RIGHT", MOVE_COST), new Operator("PICKUP", PICKUP_COST), new Operator("KILL")));
-    }
-
-    private List<Cell> cloneCells(List<Cell> cells) {
-        return new ArrayList<>(cells);
+        super.setOperators(Arrays.asList(new Operator(UP, "UP", MOVE_COST), new Operator(DOWN, "DOWN", MOVE_COST), new Operator(LEFT, "LEFT", MOVE_COST), new Operator(RIGHT, "RIGHT", MOVE_COST), new Operator(PICKUP, "PICKUP", PICKUP_COST), new Operator(KILL, "KILL", KILL_COST)));
     }
 
     private void prepareSearch() {
@@ -38,7 +52,10 @@ public class SaveWesteros extends Problem {
         obstacles = grid.getObstacles();
         dragonStone = grid.getDragonStone();
         agentCapacity = grid.getAgentCapacity();
-        super.setInitialState(new SaveWesterosState(cloneCells(whiteWalkers), grid.getAgentCell(), 0));
+        successorTable = grid.getSuccessorTable();
+        distanceTable = null;
+        dragonStonePosition = grid.getPosition(dragonStone);
+        super.setInitialState(new SaveWesterosState(WhiteWalkerSet.of(whiteWalkers.size()), grid.getPosition(grid.getAgentCell()), 0));
         super.setDepthLimit(Integer.MAX_VALUE);
     }
 
@@ -46,137 +63,94 @@ public class SaveWesteros extends Problem {
         return String.join(" -> ", expandedNodes.stream().skip(1).map(node -> node.getOperator().getName()).collect(Collectors.toList()));
     }
 
+    // Works from positions: what never changes is laid out once, and every state only adds the agent and the living white walkers
     private void visualizeGrid(List<Node> expandedNodes) {
-        Cell[][] cells = grid.getCells();
-        List<Cell> stateWhiteWalkers;
-        Cell stateAgentCell;
-        Cell current;
-        for (SaveWesterosState state : expandedNodes.stream().map(node -> (SaveWesterosState) node.getState()).collect(Collectors.toList())) {
-            stateWhiteWalkers = state.getWhiteWalkers();
-            stateAgentCell = state.getAgentCell();
-            System.out.println();
-            System.out.println();
-            for (int i = 0; i < grid.getM(); i++) {
-                for (int j = 0; j < grid.getN(); j++) {
-                    current = cells[i][j];
-                    System.out.print("[" + (obstacles.contains(current) ? "O" : stateWhiteWalkers.contains(current) ? "W" : current == dragonStone ? "D" : current == stateAgentCell ? "A" : "E") + "]");
+        char[] background = new char[grid.getM() * grid.getN()];
+        Arrays.fill(background, 'E');
+        background[dragonStonePosition] = 'D';
+        for (Cell obstacle : obstacles) {
+            background[grid.getPosition(obstacle)] = 'O';
+        }
+        char[] contents = new char[background.length];
+        StringBuilder output = new StringBuilder(background.length * 3 + grid.getM() + 4);
+        for (Node node : expandedNodes) {
+            SaveWesterosState state = (SaveWesterosState) node.getState();
+            System.arraycopy(background, 0, contents, 0, background.length);
+            if (contents[state.getAgentPosition()] == 'E') {
+                contents[state.getAgentPosition()] = 'A';
+            }
+            for (int whiteWalker = 0; whiteWalker < whiteWalkers.size(); whiteWalker++) {
+                if (state.getWhiteWalkers().contains(whiteWalker)) {
+                    contents[grid.getPosition(whiteWalkers.get(whiteWalker))] = 'W';
                 }
-                System.out.println();
             }
-            System.out.println();
+            output.setLength(0);
+            output.append(System.lineSeparator()).append(System.lineSeparator());
+            for (int position = 0; position < contents.length; position++) {
+                output.append('[').append(contents[position]).append(']');
+                if ((position + 1) % grid.getN() == 0) {
+                    output.append(System.lineSeparator());
+                }
+            }
+            System.out.println(output);
             System.out.println();
         }
     }
 
-    private boolean canVisitCell(Cell cell) {
-        return !(whiteWalkers.contains(cell) || obstacles.contains(cell));
-    }
-
-    private SaveWesterosState killWhiteWalkers(List<Cell> whiteWalkers, Cell currentAgentCell, int dragonGlass) {
-        List<Cell> clonedWhiteWalkers = cloneCells(whiteWalkers);
-        int row = currentAgentCell.getRow();
-        int col = currentAgentCell.getCol();
-        Predicate<Cell> predicate = cell -> {
-            int adjacentRow = cell.getRow();
-            int adjacentCol = cell.getCol();
-            return (adjacentRow == row - 1 && adjacentCol == col) || (adjacentRow == row + 1 && adjacentCol == col) || (adjacentRow == row && adjacentCol == col - 1) || (adjacentRow == row && adjacentCol == col + 1);
-        };
-        if (clonedWhiteWalkers.removeIf(predicate)) {
-            dragonGlass--;
-        }
-        return new SaveWesterosState(clonedWhiteWalkers, currentAgentCell, dragonGlass);
-    }
-
     @Override
     public boolean isGoal(State state) {
         return ((SaveWesterosState) state).getWhiteWalkers().isEmpty();
     }
 
-    @Override
-    public List<Node> expand(Node node, List<Operator> operators) {
-        List<Node> expansion = new ArrayList<>();
+    private void addSuccessor(Node node, SaveWesterosState state, Operator operator, List<Node> successors) {
+        Node successorNode = new Node(state, node, node.getDepth() + 1, operator);
+        successorNode.setPathCost(calculatePathCost(successorNode));
+        setNodeEvalCriteria(successorNode);
+        successors.add(successorNode);
+    }
 
-        // Return empty list in case of Iterative Deepening Search with exceeded limit for the generalSearch to stop
+    @Override
+    public void expand(Node node, List<Operator> operators, List<Node> successors) {
+        // Return no successors beyond the depth limit, the deepening searches cut off the successors of the last level themselves
         if (node.getDepth() > super.getDepthLimit()) {
-            return expansion;
+            return;
         }
 
         SaveWesterosState state = (SaveWesterosState) node.getState();
-        Cell stateAgentCell = state.getAgentCell();
-        int row = stateAgentCell.getRow();
-        int col = stateAgentCell.getCol();
-        Cell[][] cells = grid.getCells();
-        List<Cell> stateWhiteWalkers;
-        Cell nextAgentCell;
-        Node successorNode;
+        int position = state.getAgentPosition();
+        // Only once the grid changed under a kept search can the agent stand on an obstacle or a white walker
+        if (successorTable.isBlocked(position)) {
+            return;
+        }
+        int dragonGlass = state.getDragonGlass();
+        WhiteWalkerSet stateWhiteWalkers = state.getWhiteWalkers();
+        int nextPosition;
 
         for (Operator operator : operators) {
-            switch (operator.getName()) {
-                case "UP":
-                    if (row > 0) {
-                        nextAgentCell = cells[row - 1][col];
-                        if (canVisitCell(nextAgentCell)) {
-                            successorNode = new Node(new SaveWesterosState(cloneCells(state.getWhiteWalkers()), nextAgentCell, state.getDragonGlass()), node, node.getDepth() + 1, operator);
-                            successorNode.setPathCost(calculatePathCost(successorNode));
-                            super.setNodeEvalCriteria(successorNode);
-                            expansion.add(successorNode);
-                        }
-                    }
-                    break;
-                case "DOWN":
-                    if (row < grid.getM() - 1) {
-                        nextAgentCell = cells[row + 1][col];
-                        if (canVisitCell(nextAgentCell)) {
-                            successorNode = new Node(new SaveWesterosState(cloneCells(state.getWhiteWalkers()), nextAgentCell, state.getDragonGlass()), node, node.getDepth() + 1, operator);
-                            successorNode.setPathCost(calculatePathCost(successorNode));
-                            setNodeEvalCriteria(successorNode);
-                            expansion.add(successorNode);
-                        }
+            switch (operator.getId()) {
+                case UP:
+                case DOWN:
+                case LEFT:
+                case RIGHT:
+                    nextPosition = successorTable.getNeighbor(position, operator.getId());
+                    if (nextPosition >= 0) {
+                        addSuccessor(node, new SaveWesterosState(stateWhiteWalkers, nextPosition, dragonGlass), operator, successors);
                     }
                     break;
-                case "LEFT":
-                    if (col > 0) {
-                        nextAgentCell = cells[row][col - 1];
-                        if (canVisitCell(nextAgentCell)) {
-                            successorNode = new Node(new SaveWesterosState(cloneCells(state.getWhiteWalkers()), nextAgentCell, state.getDragonGlass()), node, node.getDepth() + 1, operator);
-                            successorNode.setPathCost(calculatePathCost(successorNode));
-                            setNodeEvalCriteria(successorNode);
-                            expansion.add(successorNode);
-                        }
+                case PICKUP:
+                    if (position == dragonStonePosition) {
+                        addSuccessor(node, new SaveWesterosState(stateWhiteWalkers, position, agentCapacity), operator, successors);
                     }
                     break;
-                case "RIGHT":
-                    if (col < grid.getN() - 1) {
-                        nextAgentCell = cells[row][col + 1];
-                        if (canVisitCell(nextAgentCell)) {
-                            successorNode = new Node(new SaveWesterosState(cloneCells(state.getWhiteWalkers()), nextAgentCell, state.getDragonGlass()), node, node.getDepth() + 1, operator);
-                            successorNode.setPathCost(calculatePathCost(successorNode));
-                            setNodeEvalCriteria(successorNode);
-                            expansion.add(successorNode);
-                        }
-                    }
-                    break;
-                case "PICKUP":
-                    if (stateAgentCell == dragonStone) {
-                        successorNode = new Node(new SaveWesterosState(cloneCells(state.getWhiteWalkers()), stateAgentCell, agentCapacity), node, node.getDepth() + 1, operator);
-                        successorNode.setPathCost(calculatePathCost(successorNode));
-                        setNodeEvalCriteria(successorNode);
-                        expansion.add(successorNode);
-                    }
-                    break;
-                case "KILL":
-                    stateWhiteWalkers = state.getWhiteWalkers();
-                    if (!stateWhiteWalkers.isEmpty() && state.getDragonGlass() > 0) {
-                        SaveWesterosState newState = killWhiteWalkers(stateWhiteWalkers, stateAgentCell, state.getDragonGlass());
-                        successorNode = new Node(newState, node, node.getDepth() + 1, new Operator("KILL", KILL_COST - (stateWhiteWalkers.size() - newState.getWhiteWalkers().size())));
-                        successorNode.setPathCost(calculatePathCost(successorNode));
-                        setNodeEvalCriteria(successorNode);
-                        expansion.add(successorNode);
+                case KILL:
+                    if (!stateWhiteWalkers.isEmpty() && dragonGlass > 0) {
+                        WhiteWalkerSet remainingWhiteWalkers = stateWhiteWalkers.withoutAll(successorTable.getAdjacentWhiteWalkers(position));
+                        int killed = stateWhiteWalkers.size() - remainingWhiteWalkers.size();
+                        addSuccessor(node, new SaveWesterosState(remainingWhiteWalkers, position, killed > 0 ? dragonGlass - 1 : dragonGlass), KILL_OPERATORS[killed], successors);
                     }
                     break;
             }
         }
-        return expansion;
     }
 
     @Override
@@ -190,11 +164,12 @@ public class SaveWesteros extends Problem {
         if(isGoal(state)) {
             return 0;
         }
-        Cell stateAgentCell = state.getAgentCell();
+        int agentRow = grid.getRow(state.getAgentPosition());
+        int agentCol = grid.getCol(state.getAgentPosition());
         int stateWhiteWalkersCount = state.getWhiteWalkers().size();
         int stateDragonGlass = state.getDragonGlass();
         int killCost = (stateWhiteWalkersCount / 4) * stateDragonGlass;
-        return stateDragonGlass > 0 ? killCost : ((Math.abs(dragonStone.getRow() - stateAgentCell.getRow()) + Math.abs(dragonStone.getCol() - stateAgentCell.getCol())) * MOVE_COST) + PICKUP_COST + killCost;
+        return stateDragonGlass > 0 ? killCost : ((Math.abs(dragonStone.getRow() - agentRow) + Math.abs(dragonStone.getCol() - agentCol)) * MOVE_COST) + PICKUP_COST + killCost;
     }
 
     @Override
@@ -203,12 +178,93 @@ public class SaveWesteros extends Problem {
         if(isGoal(state)) {
             return 0;
         }
-        Cell stateAgentCell = state.getAgentCell();
+        int agentRow = grid.getRow(state.getAgentPosition());
+        int agentCol = grid.getCol(state.getAgentPosition());
         int stateDragonGlass = state.getDragonGlass();
-        List<Cell> stateWhiteWalkers = state.getWhiteWalkers();
-        OptionalInt averageStepsOptional = stateWhiteWalkers.stream().mapToInt(cell -> (Math.abs(cell.getRow() - stateAgentCell.getRow()) + Math.abs(cell.getCol() - stateAgentCell.getCol()))).min();
+        WhiteWalkerSet stateWhiteWalkers = state.getWhiteWalkers();
+        OptionalInt averageStepsOptional = IntStream.range(0, whiteWalkers.size()).filter(stateWhiteWalkers::contains).mapToObj(whiteWalkers::get).mapToInt(cell -> (Math.abs(cell.getRow() - agentRow) + Math.abs(cell.getCol() - agentCol))).min();
         double killCost = (averageStepsOptional.isPresent() ? averageStepsOptional.getAsInt() : 0) * MOVE_COST * (stateWhiteWalkers.size() / 4) * stateDragonGlass;
-        return stateDragonGlass > 0 ? killCost : ((Math.abs(dragonStone.getRow() - stateAgentCell.getRow()) + Math.abs(dragonStone.getCol() - stateAgentCell.getCol())) * MOVE_COST) + PICKUP_COST + killCost;
+        return stateDragonGlass > 0 ? killCost : ((Math.abs(dragonStone.getRow() - agentRow) + Math.abs(dragonStone.getCol() - agentCol)) * MOVE_COST) + PICKUP_COST + killCost;
+    }
+
+    @Override
+    public double evaluateHeuristicThree(Node node) {
+        SaveWesterosState state = (SaveWesterosState) node.getState();
+        WhiteWalkerSet stateWhiteWalkers = state.getWhiteWalkers();
+        if (stateWhiteWalkers.isEmpty()) {
+            return 0;
+        }
+        DistanceTable distances = getDistanceTable();
+        int position = state.getAgentPosition();
+        double cost = getMinimumKillCost(stateWhiteWalkers.size());
+        if (state.getDragonGlass() == 0) {
+            // The agent has to refill at the dragonstone before it can kill anything
+            int dragonStoneDistance = distances.getDragonStoneDistance(position);
+            if (dragonStoneDistance == DistanceTable.UNREACHABLE) {
+                return Double.POSITIVE_INFINITY;
+            }
+            cost += dragonStoneDistance * MOVE_COST + PICKUP_COST;
+            position = dragonStonePosition;
+        }
+        int nearestKillDistance = DistanceTable.UNREACHABLE;
+        for (int i = stateWhiteWalkers.nextIndex(0); i >= 0; i = stateWhiteWalkers.nextIndex(i + 1)) {
+            nearestKillDistance = Math.min(nearestKillDistance, distances.getKillDistance(i, position));
+        }
+        return nearestKillDistance == DistanceTable.UNREACHABLE ? Double.POSITIVE_INFINITY : cost + nearestKillDistance * MOVE_COST;
+    }
+
+    @Override
+    public double evaluateHeuristicFour(Node node) {
+        SaveWesterosState state = (SaveWesterosState) node.getState();
+        WhiteWalkerSet stateWhiteWalkers = state.getWhiteWalkers();
+        if (stateWhiteWalkers.isEmpty()) {
+            return 0;
+        }
+        DistanceTable distances = getDistanceTable();
+        int position = state.getAgentPosition();
+        int dragonGlass = state.getDragonGlass();
+        // Every kill costs KILL_COST less the number of white walkers it kills
+        int killsNeeded = distances.getKillsNeeded(stateWhiteWalkers);
+        double cost = KILL_COST * killsNeeded - stateWhiteWalkers.size();
+        long steps = 0;
+        if (dragonGlass == 0) {
+            int dragonStoneDistance = distances.getDragonStoneDistance(position);
+            if (dragonStoneDistance == DistanceTable.UNREACHABLE) {
+                return Double.POSITIVE_INFINITY;
+            }
+            steps += dragonStoneDistance;
+            cost += PICKUP_COST;
+            position = dragonStonePosition;
+            dragonGlass = agentCapacity;
+        }
+        // Kills beyond the carried dragon glass force further trips to the dragonstone
+        boolean refillNeeded = killsNeeded > dragonGlass;
+        if (refillNeeded) {
+            cost += ((killsNeeded - dragonGlass + agentCapacity - 1) / agentCapacity) * PICKUP_COST;
+        }
+        // A pickup with full dragon glass changes nothing, so the agent only heads for the dragonstone first when it can refill
+        int nearestDistance = refillNeeded && dragonGlass < agentCapacity ? distances.getDragonStoneDistance(position) : DistanceTable.UNREACHABLE;
+        for (int i = stateWhiteWalkers.nextIndex(0); i >= 0; i = stateWhiteWalkers.nextIndex(i + 1)) {
+            nearestDistance = Math.min(nearestDistance, distances.getKillDistance(i, position));
+        }
+        int treeDistance = distances.getSpanningTreeDistance(stateWhiteWalkers, refillNeeded);
+        if (nearestDistance == DistanceTable.UNREACHABLE || treeDistance == DistanceTable.UNREACHABLE) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return cost + (steps + nearestDistance + treeDistance) * MOVE_COST;
+    }
+
+    // Every kill costs KILL_COST less the number of white walkers it kills, and one kill reaches at most four of them
+    private static double getMinimumKillCost(int whiteWalkersCount) {
+        int maxKilled = KILL_OPERATORS.length - 1;
+        return KILL_COST * ((whiteWalkersCount + maxKilled - 1) / maxKilled) - whiteWalkersCount;
+    }
+
+    private DistanceTable getDistanceTable() {
+        if (distanceTable == null) {
+            distanceTable = grid.getDistanceTable();
+        }
+        return distanceTable;
     }
 
     public Grid genGrid() {
@@ -223,31 +279,113 @@ public class SaveWesteros extends Problem {
         return new Grid(m, n);
     }
 
-    public List search(Grid grid, Strategy strategy, boolean visualize) {
+    public Grid genGrid(int n, long seed) throws Exception {
+        return new Grid(n, seed);
+    }
+
+    public Grid genGrid(int m, int n, long seed) throws Exception {
+        return new Grid(m, n, seed);
+    }
+
+    // The agent position and dragon glass in one long, followed by the white walkers as they are kept in the state
+    @Override
+    public int getPackedStateLength() {
+        return 1 + ((SaveWesterosState) getInitialState()).getWhiteWalkers().getWordsCount();
+    }
+
+    @Override
+    public void packState(State state, long[] record, int offset) {
+        SaveWesterosState saveWesterosState = (SaveWesterosState) state;
+        record[offset] = ((long) saveWesterosState.getAgentPosition() << 32) | (saveWesterosState.getDragonGlass() & 0xFFFFFFFFL);
+        saveWesterosState.getWhiteWalkers().copyWords(record, offset + 1);
+    }
+
+    @Override
+    public State unpackState(long[] record, int offset) {
+        WhiteWalkerSet whiteWalkers = WhiteWalkerSet.fromWords(record, offset + 1, getPackedStateLength() - 1);
+        return new SaveWesterosState(whiteWalkers, (int) (record[offset] >>> 32), (int) record[offset]);
+    }
+
+    @Override
+    public Problem createWorker() {
+        SaveWesteros worker = new SaveWesteros();
+        worker.grid = grid;
+        worker.setStrategy(getStrategy());
+        worker.setCancellationToken(getCancellationToken());
+        if (getTranspositionTable() != null) {
+            worker.setTranspositionTableCapacity(getTranspositionTable().getCapacity());
+        }
+        worker.prepareSearch();
+        return worker;
+    }
+
+    SearchResult createSearchResult(Strategy strategy, Node goalNode, boolean visualize) {
+        SearchResult searchResult;
+        if (goalNode == null) {
+            searchResult = new SearchResult(strategy);
+            // Stopped informed searches still tell how far they got
+            Node bestNode = getBestNode();
+            if (bestNode != null && getSearchStatus() != SearchStatus.NO_SOLUTION) {
+                searchResult.setPartialSequenceOfMoves(getSequenceOfMoves(getChosenExpandedNodes(bestNode)));
+            }
+        } else {
+            List<Node> chosenExpandedNodes = getChosenExpandedNodes(goalNode);
+            if (visualize) {
+                visualizeGrid(chosenExpandedNodes);
+            }
+            searchResult = new SearchResult(strategy, getSequenceOfMoves(chosenExpandedNodes), goalNode.getPathCost(), chosenExpandedNodes.size() - 1);
+        }
+        searchResult.setStatus(getSearchStatus());
+        searchResult.setSearchStats(getSearchStats());
+        return searchResult;
+    }
+
+    void prepare(Grid grid, Strategy strategy) {
         this.grid = grid;
         super.setStrategy(strategy);
         prepareSearch();
-        List result = new ArrayList();
-        Node goalNode;
-        if (strategy == Strategy.ID) {
-            goalNode = iterativeDeepeningSearch(this);
-        } else {
-            goalNode = generalSearch(this, strategy);
+    }
+
+    public SearchResult solve(Grid grid, Strategy strategy, boolean visualize) {
+        prepare(grid, strategy);
+        return createSearchResult(strategy, runSearch(this, strategy), visualize);
+    }
+
+    // Runs one of the anytime strategies, passing every improved plan to the listener as soon as it is found, and returns the
+    // best plan found within the search budget
+    public SearchResult searchAnytime(Grid grid, Strategy strategy, Consumer<SearchResult> listener) {
+        if (!(strategy == Strategy.ARA1 || strategy == Strategy.ARA2 || strategy == Strategy.ARA3 || strategy == Strategy.ARA4)) {
+            throw new IllegalArgumentException(strategy + " is not an anytime strategy");
         }
+        prepare(grid, strategy);
+        double[] bound = {Double.POSITIVE_INFINITY};
+        Node goalNode = anytimeSearch(this, (solution, weight, suboptimalityBound) -> {
+            bound[0] = suboptimalityBound;
+            if (listener != null) {
+                SearchResult searchResult = createSearchResult(strategy, solution, false);
+                searchResult.setSuboptimalityBound(suboptimalityBound);
+                listener.accept(searchResult);
+            }
+        });
+        SearchResult searchResult = createSearchResult(strategy, goalNode, false);
         if (goalNode != null) {
-            List<Node> chosenExpandedNodes = getChosenExpandedNodes(goalNode);
-            String sequenceOfMoves = getSequenceOfMoves(chosenExpandedNodes);
+            searchResult.setSuboptimalityBound(bound[0]);
+        }
+        return searchResult;
+    }
+
+    public List search(Grid grid, Strategy strategy, boolean visualize) {
+        SearchResult searchResult = solve(grid, strategy, visualize);
+        List result = new ArrayList();
+        if (searchResult.isSolved()) {
             double solutionCost = 0;
             if (!(strategy == Strategy.BF || strategy == Strategy.DF || strategy == Strategy.ID)) {
-                solutionCost = goalNode.getPathCost();
-            }
-            int chosenExpandedNodesCount = chosenExpandedNodes.size() - 1;
-            if (visualize) {
-                visualizeGrid(chosenExpandedNodes);
+                solutionCost = searchResult.getSolutionCost();
             }
-            result.add(sequenceOfMoves);
+            result.add(searchResult.getSequenceOfMoves());
             result.add(solutionCost);
-            result.add(chosenExpandedNodesCount);
+            result.add(searchResult.getChosenExpandedNodesCount());
+            result.add(searchResult.getSearchStats());
         }
         return result;
     }
@@ -2,34 +2,46 @@ package SaveWesteros;
 
 import Search.State;
 
-import java.util.List;
-
 public class SaveWesterosState implements State {
-    private List<Cell> whiteWalkers;
-    private Cell agentCell;
-    private int dragonGlass;
+    // Agent position (row * n + col) in the high 32 bits, dragon glass in the low 32 bits
+    private long agent;
+    private WhiteWalkerSet whiteWalkers;
 
-    public SaveWesterosState(List<Cell> whiteWalkers, Cell agentCell, int dragonGlass) {
+    public SaveWesterosState(WhiteWalkerSet whiteWalkers, int agentPosition, int dragonGlass) {
         this.whiteWalkers = whiteWalkers;
-        this.agentCell = agentCell;
-        this.dragonGlass = dragonGlass;
+        this.agent = ((long) agentPosition << 32) | (dragonGlass & 0xFFFFFFFFL);
     }
 
-    public List<Cell> getWhiteWalkers() {
+    public WhiteWalkerSet getWhiteWalkers() {
         return whiteWalkers;
     }
 
-    public Cell getAgentCell() {
-        return agentCell;
+    public int getAgentPosition() {
+        return (int) (agent >>> 32);
     }
 
     public int getDragonGlass() {
-        return dragonGlass;
+        return (int) agent;
+    }
+
+    @Override
+    public Object getKey() {
+        return this;
     }
 
     @Override
     public boolean isSame(State state) {
         SaveWesterosState westerosState = (SaveWesterosState) state;
-        return this.dragonGlass == westerosState.dragonGlass && this.agentCell == westerosState.agentCell && this.whiteWalkers.size() == westerosState.whiteWalkers.size();
+        return this.agent == westerosState.agent && this.whiteWalkers.equals(westerosState.whiteWalkers);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof SaveWesterosState && isSame((SaveWesterosState) o);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * whiteWalkers.hashCode() + Long.hashCode(agent * 0x9E3779B97F4A7C15L);
     }
 }
@@ -0,0 +1,86 @@
+package SaveWesteros;
+
+import Search.SearchStats;
+import Search.SearchStatus;
+import Search.Strategy;
+
+public class SearchResult {
+    private Strategy strategy;
+    private boolean solved;
+    private String sequenceOfMoves;
+    private double solutionCost;
+    private int chosenExpandedNodesCount;
+    private double suboptimalityBound = Double.POSITIVE_INFINITY;
+    private SearchStatus status;
+    private String partialSequenceOfMoves;
+    private SearchStats searchStats;
+
+    public SearchResult(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public SearchResult(Strategy strategy, String sequenceOfMoves, double solutionCost, int chosenExpandedNodesCount) {
+        this(strategy);
+        this.solved = true;
+        this.sequenceOfMoves = sequenceOfMoves;
+        this.solutionCost = solutionCost;
+        this.chosenExpandedNodesCount = chosenExpandedNodesCount;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public boolean isSolved() {
+        return solved;
+    }
+
+    public String getSequenceOfMoves() {
+        return sequenceOfMoves;
+    }
+
+    // The path cost of the plan, whichever strategy found it
+    public double getSolutionCost() {
+        return solutionCost;
+    }
+
+    public int getChosenExpandedNodesCount() {
+        return chosenExpandedNodesCount;
+    }
+
+    // How many times the optimal cost the solution may cost at most, only anytime searches bound it
+    public double getSuboptimalityBound() {
+        return suboptimalityBound;
+    }
+
+    void setSuboptimalityBound(double suboptimalityBound) {
+        this.suboptimalityBound = suboptimalityBound;
+    }
+
+    // Whether the search finished or which budget stopped it
+    public SearchStatus getStatus() {
+        return status;
+    }
+
+    void setStatus(SearchStatus status) {
+        this.status = status;
+    }
+
+    // The moves to the most promising node of an informed search that was stopped before reaching a goal
+    public String getPartialSequenceOfMoves() {
+        return partialSequenceOfMoves;
+    }
+
+    void setPartialSequenceOfMoves(String partialSequenceOfMoves) {
+        this.partialSequenceOfMoves = partialSequenceOfMoves;
+    }
+
+    // Counters and timings of the search. Results loaded by the solution cache only have the expansions and the search time.
+    public SearchStats getSearchStats() {
+        return searchStats;
+    }
+
+    void setSearchStats(SearchStats searchStats) {
+        this.searchStats = searchStats;
+    }
+}
@@ -0,0 +1,173 @@
+package SaveWesteros;
+
+import Search.SearchStats;
+import Search.SearchStatus;
+import Search.Strategy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Search results keyed by grid fingerprint and strategy. The least recently used results are evicted once there are more
+// than maxEntries of them or their estimated size goes over maxMemoryBytes. Only finished searches are cached, results of
+// searches stopped by a budget depend on the budget and the machine.
+public class SolutionCache {
+    // Rough size of an entry besides its strings: the map entry, the key and the result objects
+    private static final long ENTRY_OVERHEAD_BYTES = 200;
+    private static final String FIELD_SEPARATOR = "\t";
+    private int maxEntries;
+    private long maxMemoryBytes;
+    private LinkedHashMap<String, SearchResult> results;
+    private long memoryBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SolutionCache(int maxEntries, long maxMemoryBytes) {
+        if (maxEntries <= 0 || maxMemoryBytes <= 0) {
+            throw new IllegalArgumentException("Solution cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxMemoryBytes = maxMemoryBytes;
+        // Access ordered, so iteration starts at the least recently used result
+        results = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // Returns the cached result, solving the grid with a new SaveWesteros only on a miss
+    public SearchResult solve(Grid grid, Strategy strategy) {
+        SearchResult searchResult = get(grid, strategy);
+        if (searchResult == null) {
+            searchResult = new SaveWesteros().solve(grid, strategy, false);
+            put(grid, strategy, searchResult);
+        }
+        return searchResult;
+    }
+
+    public synchronized SearchResult get(Grid grid, Strategy strategy) {
+        SearchResult searchResult = results.get(getKey(grid, strategy));
+        if (searchResult == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return searchResult;
+    }
+
+    public synchronized void put(Grid grid, Strategy strategy, SearchResult searchResult) {
+        if (searchResult.getStatus() == SearchStatus.SOLVED || searchResult.getStatus() == SearchStatus.NO_SOLUTION) {
+            add(getKey(grid, strategy), searchResult);
+        }
+    }
+
+    public synchronized void clear() {
+        results.clear();
+        memoryBytes = 0;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // Writes every cached result to the file, replacing it only once it is completely written
+    public void save(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, SearchResult> entry : results.entrySet()) {
+                SearchResult searchResult = entry.getValue();
+                lines.add(String.join(FIELD_SEPARATOR, entry.getKey(), searchResult.getStrategy().name(), searchResult.getStatus().name(),
+                        Double.toString(searchResult.getSolutionCost()), Integer.toString(searchResult.getChosenExpandedNodesCount()),
+                        Long.toString(searchResult.getSearchStats().getExpandedNodesCount()), Long.toString(searchResult.getSearchStats().getSearchTimeNanos()),
+                        Double.toString(searchResult.getSuboptimalityBound()), searchResult.isSolved() ? searchResult.getSequenceOfMoves() : ""));
+            }
+        }
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Adds the results saved in the file, a missing file adds nothing
+    public void load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(FIELD_SEPARATOR, -1);
+                if (fields.length != 9) {
+                    throw new IOException("Malformed solution cache line: " + line);
+                }
+                try {
+                    Strategy strategy = Strategy.valueOf(fields[1]);
+                    SearchStatus status = SearchStatus.valueOf(fields[2]);
+                    SearchResult searchResult = status == SearchStatus.SOLVED
+                            ? new SearchResult(strategy, fields[8], Double.parseDouble(fields[3]), Integer.parseInt(fields[4]))
+                            : new SearchResult(strategy);
+                    searchResult.setStatus(status);
+                    searchResult.setSearchStats(new SearchStats(Long.parseLong(fields[5]), Long.parseLong(fields[6]),
+                            status == SearchStatus.SOLVED ? searchResult.getChosenExpandedNodesCount() : -1));
+                    searchResult.setSuboptimalityBound(Double.parseDouble(fields[7]));
+                    synchronized (this) {
+                        add(fields[0], searchResult);
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Malformed solution cache line: " + line, e);
+                }
+            }
+        }
+    }
+
+    private static String getKey(Grid grid, Strategy strategy) {
+        return grid.getFingerprint() + ":" + strategy.name();
+    }
+
+    private static long getMemoryBytes(String key, SearchResult searchResult) {
+        String sequenceOfMoves = searchResult.getSequenceOfMoves();
+        return ENTRY_OVERHEAD_BYTES + 2L * (key.length() + (sequenceOfMoves != null ? sequenceOfMoves.length() : 0));
+    }
+
+    private void add(String key, SearchResult searchResult) {
+        SearchResult previous = results.put(key, searchResult);
+        if (previous != null) {
+            memoryBytes -= getMemoryBytes(key, previous);
+        }
+        memoryBytes += getMemoryBytes(key, searchResult);
+        Iterator<Map.Entry<String, SearchResult>> iterator = results.entrySet().iterator();
+        while ((results.size() > maxEntries || memoryBytes > maxMemoryBytes) && iterator.hasNext()) {
+            Map.Entry<String, SearchResult> eldest = iterator.next();
+            memoryBytes -= getMemoryBytes(eldest.getKey(), eldest.getValue());
+            iterator.remove();
+            evictions++;
+        }
+    }
+}
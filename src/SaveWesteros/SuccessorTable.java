@@ -0,0 +1,92 @@
+package SaveWesteros;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Moves and kills available at every position. Grids up to Grid.MAX_TABLE_POSITIONS positions get a table entry per
+// position, larger ones work the neighbours out from the coordinates and only keep the positions next to white walkers.
+public class SuccessorTable {
+    // Directions follow the ids of the SaveWesteros move operators
+    private static final int[] ROW_OFFSETS = {-1, 1, 0, 0};
+    private static final int[] COL_OFFSETS = {0, 0, -1, 1};
+    private static final int DIRECTIONS = 4;
+    private static final int[] NO_WHITE_WALKERS = new int[0];
+    private int m;
+    private int n;
+    private int[] neighbors;
+    private int[][] adjacentWhiteWalkers;
+    private Map<Integer, int[]> sparseAdjacentWhiteWalkers;
+    private long[] blocked;
+
+    public SuccessorTable(Grid grid) {
+        m = grid.getM();
+        n = grid.getN();
+        int positions = m * n;
+        blocked = new long[(int) ((positions + 63L) >>> 6)];
+        for (Cell obstacle : grid.getObstacles()) {
+            block(grid.getPosition(obstacle));
+        }
+        List<Cell> whiteWalkers = grid.getWhiteWalkers();
+        for (Cell whiteWalker : whiteWalkers) {
+            block(grid.getPosition(whiteWalker));
+        }
+
+        // White walkers by the positions they can be killed from, in the order of the directions leading to them
+        Map<Integer, int[]> adjacent = new HashMap<>();
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            for (int i = 0; i < whiteWalkers.size(); i++) {
+                Cell whiteWalker = whiteWalkers.get(i);
+                int row = whiteWalker.getRow() - ROW_OFFSETS[direction];
+                int col = whiteWalker.getCol() - COL_OFFSETS[direction];
+                if (row >= 0 && row < m && col >= 0 && col < n) {
+                    int[] previous = adjacent.getOrDefault(row * n + col, NO_WHITE_WALKERS);
+                    int[] next = Arrays.copyOf(previous, previous.length + 1);
+                    next[previous.length] = i;
+                    adjacent.put(row * n + col, next);
+                }
+            }
+        }
+        if (positions > Grid.MAX_TABLE_POSITIONS) {
+            sparseAdjacentWhiteWalkers = adjacent;
+            return;
+        }
+
+        neighbors = new int[positions * DIRECTIONS];
+        adjacentWhiteWalkers = new int[positions][];
+        for (int position = 0; position < positions; position++) {
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                neighbors[position * DIRECTIONS + direction] = computeNeighbor(position, direction);
+            }
+            adjacentWhiteWalkers[position] = adjacent.getOrDefault(position, NO_WHITE_WALKERS);
+        }
+    }
+
+    // Returns the position reached by moving in the given direction, or -1 if the move leaves the grid or is blocked
+    public int getNeighbor(int position, int direction) {
+        return neighbors != null ? neighbors[position * DIRECTIONS + direction] : computeNeighbor(position, direction);
+    }
+
+    public int[] getAdjacentWhiteWalkers(int position) {
+        return adjacentWhiteWalkers != null ? adjacentWhiteWalkers[position] : sparseAdjacentWhiteWalkers.getOrDefault(position, NO_WHITE_WALKERS);
+    }
+
+    public boolean isBlocked(int position) {
+        return (blocked[position >>> 6] & (1L << position)) != 0;
+    }
+
+    private int computeNeighbor(int position, int direction) {
+        int nextRow = position / n + ROW_OFFSETS[direction];
+        int nextCol = position % n + COL_OFFSETS[direction];
+        if (nextRow < 0 || nextRow >= m || nextCol < 0 || nextCol >= n) {
+            return -1;
+        }
+        int next = nextRow * n + nextCol;
+        return isBlocked(next) ? -1 : next;
+    }
+
+    private void block(int position) {
+        blocked[position >>> 6] |= 1L << position;
+    }
+}
@@ -0,0 +1,109 @@
+package SaveWesteros;
+
+import java.util.Arrays;
+
+public class WhiteWalkerSet {
+    private long[] words;
+    private int size;
+    private int hash;
+
+    private WhiteWalkerSet(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+        this.hash = Arrays.hashCode(words);
+    }
+
+    public static WhiteWalkerSet of(int count) {
+        long[] words = new long[(count + 63) >>> 6];
+        for (int i = 0; i < count; i++) {
+            words[i >>> 6] |= 1L << i;
+        }
+        return new WhiteWalkerSet(words, count);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    // Returns the index of the next remaining white walker at or after the given index, or -1 if there is none
+    public int nextIndex(int index) {
+        int word = index >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << index);
+        while (bits == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    public WhiteWalkerSet without(int index) {
+        if (!contains(index)) {
+            return this;
+        }
+        long[] remaining = words.clone();
+        remaining[index >>> 6] &= ~(1L << index);
+        return new WhiteWalkerSet(remaining, size - 1);
+    }
+
+    public WhiteWalkerSet withoutAll(int[] indices) {
+        long[] remaining = null;
+        int removed = 0;
+        for (int index : indices) {
+            if (contains(index)) {
+                if (remaining == null) {
+                    remaining = words.clone();
+                }
+                remaining[index >>> 6] &= ~(1L << index);
+                removed++;
+            }
+        }
+        return remaining == null ? this : new WhiteWalkerSet(remaining, size - removed);
+    }
+
+    int getWordsCount() {
+        return words.length;
+    }
+
+    void copyWords(long[] destination, int offset) {
+        System.arraycopy(words, 0, destination, offset, words.length);
+    }
+
+    static WhiteWalkerSet fromWords(long[] source, int offset, int length) {
+        long[] words = Arrays.copyOfRange(source, offset, offset + length);
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return new WhiteWalkerSet(words, size);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WhiteWalkerSet)) {
+            return false;
+        }
+        WhiteWalkerSet other = (WhiteWalkerSet) o;
+        return hash == other.hash && size == other.size && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
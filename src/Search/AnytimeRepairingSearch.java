@@ -0,0 +1,144 @@
+package Search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Anytime repairing A* (ARA*). Searches with eval = path cost + weight * heuristic, publishes the solution and then lowers the
+// weight, reusing the nodes already generated: states improved after being closed are kept aside and only those, together
+// with the open ones, are searched again under the new weight.
+class AnytimeRepairingSearch {
+    private Problem problem;
+    private SolutionListener listener;
+    private Map<Object, Node> bestNodes;
+    // Heuristic value of every state generated, evaluated once and reused under every weight
+    private Map<Object, Double> heuristicValues;
+    private PriorityFrontier open;
+    private Set<Object> closed;
+    private Map<Object, Node> inconsistent;
+    private List<Node> successors;
+    private double weight;
+    private Node incumbent;
+    private Node published;
+    private double publishedBound = Double.POSITIVE_INFINITY;
+
+    AnytimeRepairingSearch(Problem problem, SolutionListener listener) {
+        this.problem = problem;
+        this.listener = listener;
+        bestNodes = new HashMap<>();
+        heuristicValues = new HashMap<>();
+        open = new PriorityFrontier();
+        closed = new HashSet<>();
+        inconsistent = new HashMap<>();
+        successors = new ArrayList<>();
+    }
+
+    Node search(double initialWeight, double weightStep) {
+        weight = Math.max(1, initialWeight);
+        Node root = new Node(problem.getInitialState(), null, 0, null);
+        bestNodes.put(root.getState().getKey(), root);
+        heuristicValues.put(root.getState().getKey(), problem.evaluateHeuristic(root));
+        if (problem.isGoal(root.getState())) {
+            incumbent = root;
+            publish(root, 1);
+            return root;
+        }
+        prioritize(root);
+        open.add(root);
+        while (true) {
+            boolean improved = improvePath();
+            if (incumbent != null) {
+                // A cheaper plan or a tighter guarantee on the same one are both worth reporting
+                double bound = getSuboptimalityBound(improved);
+                if (incumbent != published || bound < publishedBound) {
+                    publish(incumbent, bound);
+                }
+            }
+            if (!improved) {
+                // Out of budget, the best plan so far stands
+                return incumbent;
+            }
+            if (weight == 1 || open.isEmpty() && inconsistent.isEmpty()) {
+                return incumbent;
+            }
+            weight = Math.max(1, weight - weightStep);
+            List<Node> nodes = new ArrayList<>(inconsistent.values());
+            while (!open.isEmpty()) {
+                nodes.add(open.remove());
+            }
+            inconsistent.clear();
+            closed.clear();
+            for (Node node : nodes) {
+                prioritize(node);
+                open.add(node);
+            }
+        }
+    }
+
+    // Expands nodes until none left can lead to a cheaper goal under the current weight, false if the budget ran out first
+    private boolean improvePath() {
+        while (!open.isEmpty() && (incumbent == null || open.peek().getEval() < incumbent.getPathCost())) {
+            Node node = open.remove();
+            if (!problem.tryExpand(node, bestNodes.size())) {
+                return false;
+            }
+            closed.add(node.getState().getKey());
+            successors.clear();
+            problem.expandNode(node, successors);
+            for (Node successorNode : successors) {
+                Object key = successorNode.getState().getKey();
+                Node best = bestNodes.get(key);
+                if (best != null && best.getPathCost() <= successorNode.getPathCost()) {
+                    continue;
+                }
+                bestNodes.put(key, successorNode);
+                // Expanding evaluated the successor as path cost plus heuristic
+                heuristicValues.putIfAbsent(key, successorNode.getEval() - successorNode.getPathCost());
+                if (problem.isGoal(successorNode.getState())) {
+                    // Other goal states may cost more than the plan already found
+                    if (incumbent == null || successorNode.getPathCost() < incumbent.getPathCost()) {
+                        incumbent = successorNode;
+                    }
+                } else if (closed.contains(key)) {
+                    inconsistent.put(key, successorNode);
+                } else {
+                    prioritize(successorNode);
+                    open.add(successorNode);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void prioritize(Node node) {
+        node.setEval(node.getPathCost() + weight * heuristicValues.get(node.getState().getKey()));
+    }
+
+    // A completed pass bounds the cost by the weight, and so does comparing it to the least unweighted estimate of the
+    // states not searched yet
+    private double getSuboptimalityBound(boolean completedPass) {
+        double lowerBound = Double.POSITIVE_INFINITY;
+        for (Node node : bestNodes.values()) {
+            Object key = node.getState().getKey();
+            if (!closed.contains(key) || inconsistent.containsKey(key)) {
+                if (!problem.isGoal(node.getState())) {
+                    lowerBound = Math.min(lowerBound, node.getPathCost() + heuristicValues.get(key));
+                }
+            }
+        }
+        lowerBound = Math.min(lowerBound, incumbent.getPathCost());
+        double bound = lowerBound <= 0 ? Double.POSITIVE_INFINITY : incumbent.getPathCost() / lowerBound;
+        return completedPass ? Math.min(weight, bound) : bound;
+    }
+
+    private void publish(Node goalNode, double suboptimalityBound) {
+        published = goalNode;
+        publishedBound = suboptimalityBound;
+        if (listener != null) {
+            listener.onSolution(goalNode, weight, suboptimalityBound);
+        }
+    }
+}
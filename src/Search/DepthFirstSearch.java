@@ -0,0 +1,126 @@
+package Search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Depth first search below a bound on either the node depth or the node eval, checking for cycles along the current path, so
+// the memory grows with the depth only. Depth bounded searches can also remember the least depth of up to depthTableCapacity
+// states per search and skip states reached again no shallower. Those were already searched with at least as much depth
+// left, so nothing is lost, and proving that a bound holds no goal takes work polynomial in the states below it instead of
+// exponential in the paths. The table trades that for memory, a capacity of 0 keeps the search linear in memory.
+// The path, per level successor buffers and cursors are kept between calls so every iteration of a deepening search reuses them.
+class DepthFirstSearch {
+    private Problem problem;
+    private boolean depthBounded;
+    private List<List<Node>> successors;
+    private List<Node> path;
+    private int[] cursors;
+    private Set<Object> pathStates;
+    private int depthTableCapacity;
+    private Map<Object, Integer> smallestDepths;
+    private double nextBound;
+
+    DepthFirstSearch(Problem problem, boolean depthBounded, int depthTableCapacity) {
+        this.problem = problem;
+        this.depthBounded = depthBounded;
+        this.depthTableCapacity = depthBounded ? depthTableCapacity : 0;
+        successors = new ArrayList<>();
+        path = new ArrayList<>();
+        cursors = new int[16];
+        pathStates = new HashSet<>();
+        smallestDepths = new HashMap<>();
+    }
+
+    // The smallest bound value that was cut off in the last search, infinity if the whole space below the bound was searched
+    double getNextBound() {
+        return nextBound;
+    }
+
+    boolean isCutOff() {
+        return nextBound < Double.POSITIVE_INFINITY;
+    }
+
+    Node search(Node root, double bound) {
+        nextBound = Double.POSITIVE_INFINITY;
+        if (problem.isGoal(root.getState())) {
+            return root;
+        }
+        Node node = root;
+        int level = 0;
+        while (node != null) {
+            if (!problem.tryExpand(node, path.size() + smallestDepths.size())) {
+                clear();
+                return null;
+            }
+            // Descend into the node
+            if (level == successors.size()) {
+                successors.add(new ArrayList<>());
+            }
+            if (level == cursors.length) {
+                cursors = Arrays.copyOf(cursors, level * 2);
+            }
+            List<Node> levelSuccessors = successors.get(level);
+            levelSuccessors.clear();
+            problem.expandNode(node, levelSuccessors);
+            cursors[level] = 0;
+            path.add(node);
+            pathStates.add(node.getState().getKey());
+            node = null;
+
+            while (node == null && level >= 0) {
+                levelSuccessors = successors.get(level);
+                if (cursors[level] == levelSuccessors.size()) {
+                    // Backtrack
+                    pathStates.remove(path.remove(level).getState().getKey());
+                    level--;
+                    continue;
+                }
+                Node successorNode = levelSuccessors.get(cursors[level]++);
+                double value = depthBounded ? successorNode.getDepth() : successorNode.getEval();
+                if (value > bound) {
+                    nextBound = Math.min(nextBound, value);
+                } else if (!pathStates.contains(successorNode.getState().getKey()) && isShallower(successorNode)) {
+                    if (problem.isGoal(successorNode.getState())) {
+                        clear();
+                        return successorNode;
+                    }
+                    node = successorNode;
+                    level++;
+                }
+            }
+        }
+        clear();
+        return null;
+    }
+
+    // False if the state was already reached at most as deep in this search. States beyond the capacity are not remembered,
+    // which only costs searching them again.
+    private boolean isShallower(Node node) {
+        if (depthTableCapacity == 0) {
+            return true;
+        }
+        Object key = node.getState().getKey();
+        Integer smallestDepth = smallestDepths.get(key);
+        if (smallestDepth != null && smallestDepth <= node.getDepth()) {
+            return false;
+        }
+        if (smallestDepth != null || smallestDepths.size() < depthTableCapacity) {
+            smallestDepths.put(key, node.getDepth());
+        }
+        return true;
+    }
+
+    private void clear() {
+        path.clear();
+        pathStates.clear();
+        smallestDepths.clear();
+        for (List<Node> levelSuccessors : successors) {
+            levelSuccessors.clear();
+        }
+    }
+}
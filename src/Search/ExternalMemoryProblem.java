@@ -0,0 +1,12 @@
+package Search;
+
+// Problems whose states can be written to files, needed for external memory search
+public interface ExternalMemoryProblem {
+    // Number of longs a state is packed into, the same for every state of the problem
+    int getPackedStateLength();
+
+    // Packs the state so that equal states give equal longs
+    void packState(State state, long[] record, int offset);
+
+    State unpackState(long[] record, int offset);
+}
@@ -0,0 +1,433 @@
+package Search;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Breadth first or uniform cost search with the frontier and the repeated states on disk. States are packed into fixed
+// length records by the problem and generated into one file per depth, or per path cost for uniform cost search. A file
+// is only deduplicated once it is its turn: it is sorted in runs that fit in memory, the runs are merged and whatever is
+// already in the sorted file of closed states is dropped. Every record keeps the layer and index of its parent record, so
+// the plan is rebuilt from the layer files once a goal is found. Files are read through memory mappings.
+class ExternalMemorySearch {
+    private static final long NO_PARENT = -1;
+    // Some virtual machines reserve a few header words in arrays
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    private Problem problem;
+    private ExternalMemoryProblem packing;
+    private boolean costOrdered;
+    private Path directory;
+    private int stateLength;
+    private int recordLength;
+    private int runLength;
+    // Records held in memory by the last sorted run, the largest part of the heap the search uses
+    private int runRecords;
+    private TreeMap<Integer, RecordWriter> pending;
+    private List<Path> layers;
+    private Path closed;
+    private List<Node> successors;
+    private long[] record;
+    private int nextFileId;
+
+    private ExternalMemorySearch(Problem problem, boolean costOrdered, Path directory, int runLength) {
+        this.problem = problem;
+        packing = (ExternalMemoryProblem) problem;
+        this.costOrdered = costOrdered;
+        this.directory = directory;
+        this.runLength = runLength;
+        stateLength = packing.getPackedStateLength();
+        recordLength = stateLength + 1;
+        pending = new TreeMap<>();
+        layers = new ArrayList<>();
+        successors = new ArrayList<>();
+        record = new long[recordLength];
+    }
+
+    static Node search(Problem problem, boolean costOrdered, Path parentDirectory, int runLength) {
+        Path directory = null;
+        try {
+            Files.createDirectories(parentDirectory);
+            directory = Files.createTempDirectory(parentDirectory, "search");
+            return new ExternalMemorySearch(problem, costOrdered, directory, runLength).search();
+        } catch (IOException e) {
+            throw new UncheckedIOException("External memory search failed", e);
+        } finally {
+            if (directory != null) {
+                deleteDirectory(directory);
+            }
+        }
+    }
+
+    private Node search() throws IOException {
+        try {
+            packing.packState(problem.getInitialState(), record, 0);
+            record[stateLength] = NO_PARENT;
+            getPendingWriter(0).write(record);
+            closed = createFile();
+            Files.createFile(closed);
+            while (!pending.isEmpty()) {
+                Map.Entry<Integer, RecordWriter> entry = pending.pollFirstEntry();
+                int bucket = entry.getKey();
+                RecordWriter writer = entry.getValue();
+                writer.close();
+                Path layer = deduplicate(writer.file);
+                if (layer == null) {
+                    continue;
+                }
+                int layerId = layers.size();
+                layers.add(layer);
+                closed = mergeClosed(layer);
+                Node goalNode = expand(layerId, bucket);
+                if (goalNode != null || problem.isCancelled()) {
+                    return goalNode;
+                }
+            }
+            return null;
+        } finally {
+            for (RecordWriter writer : pending.values()) {
+                writer.close();
+            }
+        }
+    }
+
+    // Checks every state of the layer for a goal and generates the successors of the others into their buckets
+    private Node expand(int layerId, int bucket) throws IOException {
+        try (RecordReader reader = new RecordReader(layers.get(layerId), recordLength)) {
+            long[] successorRecord = new long[recordLength];
+            for (long index = 0; index < reader.getRecordsCount(); index++) {
+                reader.read(index, record);
+                State state = packing.unpackState(record, 0);
+                Node node = new Node(state, null, costOrdered ? 0 : bucket, null);
+                node.setPathCost(costOrdered ? bucket : 0);
+                if (!problem.tryExpand(node, runRecords)) {
+                    return null;
+                }
+                if (problem.isGoal(state)) {
+                    return rebuildPath(layerId, index);
+                }
+                successors.clear();
+                problem.expandNode(node, successors);
+                for (Node successorNode : successors) {
+                    int successorBucket = bucket + 1;
+                    if (costOrdered) {
+                        double pathCost = successorNode.getPathCost();
+                        successorBucket = (int) pathCost;
+                        if (successorBucket != pathCost) {
+                            throw new IllegalStateException("External memory uniform cost search needs integer operator costs");
+                        }
+                    }
+                    packing.packState(successorNode.getState(), successorRecord, 0);
+                    successorRecord[stateLength] = ((long) layerId << 32) | index;
+                    getPendingWriter(successorBucket).write(successorRecord);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Sorts the generated records in runs, merges the runs and keeps the first record of every state that is not closed yet
+    private Path deduplicate(Path generated) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (RecordReader reader = new RecordReader(generated, recordLength)) {
+            // Runs never take more memory than the layer needs, and always fit in one array
+            runRecords = (int) Math.min(Math.min(runLength, reader.getRecordsCount()), MAX_ARRAY_LENGTH / recordLength);
+            long[] records = new long[runRecords * recordLength];
+            int count = 0;
+            for (long index = 0; index < reader.getRecordsCount(); index++) {
+                reader.read(index, record);
+                System.arraycopy(record, 0, records, count * recordLength, recordLength);
+                if (++count == runRecords) {
+                    runs.add(writeRun(records, count));
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                runs.add(writeRun(records, count));
+            }
+        }
+        Files.delete(generated);
+
+        Path layer = createFile();
+        long written = 0;
+        List<RecordReader> readers = new ArrayList<>();
+        try (RecordWriter writer = new RecordWriter(layer); RecordReader closedReader = new RecordReader(closed, stateLength)) {
+            PriorityQueue<RunCursor> cursors = new PriorityQueue<>(Comparator.comparing((RunCursor cursor) -> cursor.record, this::compareStates));
+            for (Path run : runs) {
+                RecordReader reader = new RecordReader(run, recordLength);
+                readers.add(reader);
+                RunCursor cursor = new RunCursor(reader, recordLength);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+            long[] previous = null;
+            long[] closedState = new long[stateLength];
+            long closedIndex = 0;
+            boolean closedLeft = closedIndex < closedReader.getRecordsCount();
+            if (closedLeft) {
+                closedReader.read(closedIndex, closedState);
+            }
+            while (!cursors.isEmpty()) {
+                RunCursor cursor = cursors.poll();
+                long[] current = cursor.record.clone();
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                if (previous != null && compareStates(previous, current) == 0) {
+                    continue;
+                }
+                previous = current;
+                while (closedLeft && compareStates(closedState, current) < 0) {
+                    closedLeft = ++closedIndex < closedReader.getRecordsCount();
+                    if (closedLeft) {
+                        closedReader.read(closedIndex, closedState);
+                    }
+                }
+                if (!closedLeft || compareStates(closedState, current) != 0) {
+                    writer.write(current);
+                    written++;
+                }
+            }
+        } finally {
+            for (RecordReader reader : readers) {
+                reader.close();
+            }
+            for (Path run : runs) {
+                Files.delete(run);
+            }
+        }
+        if (written == 0) {
+            Files.delete(layer);
+            return null;
+        }
+        return layer;
+    }
+
+    private Path writeRun(long[] records, int count) throws IOException {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        sort(records, order, new int[count], 0, count);
+        Path run = createFile();
+        try (RecordWriter writer = new RecordWriter(run)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(records, order[i] * recordLength, recordLength);
+            }
+        }
+        return run;
+    }
+
+    // Merge sort of record indices, stable so the first record generated for a state stays first
+    private void sort(long[] records, int[] order, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(records, order, buffer, from, middle);
+        sort(records, order, buffer, middle, to);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right == to || left < middle && compareStates(records, order[left] * recordLength, records, order[right] * recordLength) <= 0) {
+                buffer[i] = order[left++];
+            } else {
+                buffer[i] = order[right++];
+            }
+        }
+        System.arraycopy(buffer, from, order, from, to - from);
+    }
+
+    // Merges the states of the new layer, none of which are closed yet, into a new sorted file of closed states
+    private Path mergeClosed(Path layer) throws IOException {
+        Path merged = createFile();
+        try (RecordWriter writer = new RecordWriter(merged); RecordReader closedReader = new RecordReader(closed, stateLength);
+             RecordReader layerReader = new RecordReader(layer, recordLength)) {
+            long[] closedState = new long[stateLength];
+            long[] layerRecord = new long[recordLength];
+            long closedIndex = 0;
+            long layerIndex = 0;
+            while (closedIndex < closedReader.getRecordsCount() || layerIndex < layerReader.getRecordsCount()) {
+                if (closedIndex < closedReader.getRecordsCount()) {
+                    closedReader.read(closedIndex, closedState);
+                }
+                if (layerIndex < layerReader.getRecordsCount()) {
+                    layerReader.read(layerIndex, layerRecord);
+                }
+                if (layerIndex == layerReader.getRecordsCount()
+                        || closedIndex < closedReader.getRecordsCount() && compareStates(closedState, layerRecord) < 0) {
+                    writer.write(closedState, 0, stateLength);
+                    closedIndex++;
+                } else {
+                    writer.write(layerRecord, 0, stateLength);
+                    layerIndex++;
+                }
+            }
+        }
+        Files.delete(closed);
+        return merged;
+    }
+
+    // Follows the parent records back to the initial state, then replays the plan to recover its operators and costs
+    private Node rebuildPath(int layerId, long index) throws IOException {
+        List<State> states = new ArrayList<>();
+        long parent = ((long) layerId << 32) | index;
+        while (parent != NO_PARENT) {
+            try (RecordReader reader = new RecordReader(layers.get((int) (parent >>> 32)), recordLength)) {
+                reader.read(parent & 0xFFFFFFFFL, record);
+            }
+            states.add(packing.unpackState(record, 0));
+            parent = record[stateLength];
+        }
+        Node node = new Node(problem.getInitialState(), null, 0, null);
+        for (int i = states.size() - 2; i >= 0; i--) {
+            Object key = states.get(i).getKey();
+            successors.clear();
+            problem.expand(node, problem.getOperators(), successors);
+            Node next = null;
+            for (Node successorNode : successors) {
+                if (successorNode.getState().getKey().equals(key) && (next == null || successorNode.getPathCost() < next.getPathCost())) {
+                    next = successorNode;
+                }
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    private RecordWriter getPendingWriter(int bucket) throws IOException {
+        RecordWriter writer = pending.get(bucket);
+        if (writer == null) {
+            writer = new RecordWriter(createFile());
+            pending.put(bucket, writer);
+        }
+        return writer;
+    }
+
+    private Path createFile() {
+        return directory.resolve((nextFileId++) + ".bin");
+    }
+
+    private int compareStates(long[] a, long[] b) {
+        return compareStates(a, 0, b, 0);
+    }
+
+    private int compareStates(long[] a, int aOffset, long[] b, int bOffset) {
+        for (int i = 0; i < stateLength; i++) {
+            int comparison = Long.compare(a[aOffset + i], b[bOffset + i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            // Leftover files are only wasted space in a temporary directory
+        }
+        directory.toFile().delete();
+    }
+
+    private static class RunCursor {
+        private RecordReader reader;
+        private long[] record;
+        private long index;
+
+        RunCursor(RecordReader reader, int recordLength) {
+            this.reader = reader;
+            record = new long[recordLength];
+        }
+
+        boolean advance() {
+            if (index == reader.getRecordsCount()) {
+                return false;
+            }
+            reader.read(index++, record);
+            return true;
+        }
+    }
+
+    private static class RecordWriter implements Closeable {
+        private Path file;
+        private DataOutputStream output;
+
+        RecordWriter(Path file) throws IOException {
+            this.file = file;
+            output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        }
+
+        void write(long[] record) throws IOException {
+            write(record, 0, record.length);
+        }
+
+        void write(long[] records, int offset, int length) throws IOException {
+            for (int i = 0; i < length; i++) {
+                output.writeLong(records[offset + i]);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.close();
+        }
+    }
+
+    // Maps the file a window at a time, as a single mapping is limited to 2GB
+    private static class RecordReader implements Closeable {
+        private static final long WINDOW_BYTES = 1 << 26;
+        private FileChannel channel;
+        private int recordBytes;
+        private long recordsCount;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long windowEnd;
+
+        RecordReader(Path file, int recordLength) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            recordBytes = recordLength * Long.BYTES;
+            recordsCount = channel.size() / recordBytes;
+        }
+
+        long getRecordsCount() {
+            return recordsCount;
+        }
+
+        void read(long index, long[] record) {
+            if (window == null || index < windowStart || index >= windowEnd) {
+                windowStart = index;
+                windowEnd = Math.min(recordsCount, index + Math.max(1, WINDOW_BYTES / recordBytes));
+                try {
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart * recordBytes, (windowEnd - windowStart) * recordBytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int position = (int) ((index - windowStart) * recordBytes);
+            for (int i = 0; i < recordBytes / Long.BYTES; i++) {
+                record[i] = window.getLong(position + i * Long.BYTES);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
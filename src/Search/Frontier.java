@@ -0,0 +1,16 @@
+package Search;
+
+public interface Frontier {
+    boolean add(Node node);
+
+    Node remove();
+
+    boolean isEmpty();
+
+    int size();
+
+    // Frontiers that resolve duplicates themselves only need states to be closed once they are expanded
+    default boolean closesOnExpansion() {
+        return false;
+    }
+}
@@ -0,0 +1,179 @@
+package Search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Hash distributed A* (HDA*). Every worker owns the states whose key hashes to it and keeps its own open and closed sets.
+// Generated nodes are sent to their owner through a lock-free queue. Workers prune nodes whose eval reaches the cost of
+// the best goal found so far, so with an admissible heuristic the search ends with an optimal goal.
+class HashDistributedSearch {
+    private static final long IDLE_PARK_NANOS = 10_000;
+    // Workers share the budget of the problem they were created from
+    private Problem searchProblem;
+    private Worker[] workers;
+    // Workers that are busy plus nodes that are sent but not yet received, the search is over once it drops to 0
+    private AtomicLong pending;
+    private volatile boolean terminated;
+    // The first exception or error thrown by a worker, which stops the others
+    private Throwable error;
+    private volatile double incumbentCost;
+    private Node incumbent;
+
+    private HashDistributedSearch(Problem problem, int parallelism) {
+        searchProblem = problem;
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(problem.createSearchWorker());
+        }
+        pending = new AtomicLong(parallelism);
+        incumbentCost = Double.POSITIVE_INFINITY;
+    }
+
+    static Node search(Problem problem, int parallelism) {
+        HashDistributedSearch search = new HashDistributedSearch(problem, parallelism);
+        Node root = new Node(problem.getInitialState(), null, 0, null);
+        problem.setNodeEvalCriteria(root);
+        search.workers[search.getOwner(root)].receive(root);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            Thread thread = new Thread(search.workers[i], "hash-distributed-search-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            search.terminated = true;
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (search.error instanceof Error) {
+            throw (Error) search.error;
+        }
+        if (search.error != null) {
+            throw new IllegalStateException("Hash distributed search failed", search.error);
+        }
+        return problem.isCancelled() ? null : search.incumbent;
+    }
+
+    private int getOwner(Node node) {
+        int hash = node.getState().getKey().hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), workers.length);
+    }
+
+    private synchronized void fail(Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        terminated = true;
+    }
+
+    private synchronized void offerGoal(Node node) {
+        if (node.getPathCost() < incumbentCost) {
+            incumbent = node;
+            incumbentCost = node.getPathCost();
+        }
+    }
+
+    private class Worker implements Runnable {
+        private Problem problem;
+        private Queue<Node> inbox;
+        private PriorityFrontier open;
+        private Map<Object, Double> pathCosts;
+        private List<Node> successors;
+
+        Worker(Problem problem) {
+            this.problem = problem;
+            inbox = new ConcurrentLinkedQueue<>();
+            open = new PriorityFrontier();
+            pathCosts = new HashMap<>();
+            successors = new ArrayList<>();
+        }
+
+        // Keeps the node unless its state was already reached at no greater cost, reopening closed states if needed
+        void receive(Node node) {
+            Object key = node.getState().getKey();
+            Double pathCost = pathCosts.get(key);
+            if (pathCost == null || node.getPathCost() < pathCost) {
+                pathCosts.put(key, node.getPathCost());
+                open.add(node);
+            }
+        }
+
+        // A failing worker would leave its nodes in flight counted forever, so it stops the others instead
+        @Override
+        public void run() {
+            try {
+                work();
+            } catch (Throwable throwable) {
+                fail(throwable);
+            }
+        }
+
+        private void work() {
+            while (!terminated) {
+                if (searchProblem.isCancelled()) {
+                    terminated = true;
+                    return;
+                }
+                Node node;
+                while ((node = inbox.poll()) != null) {
+                    receive(node);
+                    pending.decrementAndGet();
+                }
+                node = open.peek();
+                if (node != null && node.getEval() < incumbentCost) {
+                    open.remove();
+                    if (problem.isGoal(node.getState())) {
+                        offerGoal(node);
+                        continue;
+                    }
+                    // Every worker holds about as many nodes as this one
+                    if (!searchProblem.tryExpand(node, (long) pathCosts.size() * workers.length)) {
+                        terminated = true;
+                        return;
+                    }
+                    successors.clear();
+                    problem.expandNode(node, successors);
+                    for (Node successorNode : successors) {
+                        Worker owner = workers[getOwner(successorNode)];
+                        if (owner == this) {
+                            receive(successorNode);
+                        } else {
+                            pending.incrementAndGet();
+                            owner.inbox.add(successorNode);
+                        }
+                    }
+                } else {
+                    awaitWork();
+                }
+            }
+        }
+
+        // Nothing worth expanding is left here, wait until nodes arrive or every worker is idle with nothing in flight
+        private void awaitWork() {
+            pending.decrementAndGet();
+            while (!terminated) {
+                if (!inbox.isEmpty()) {
+                    // Safe, the queued node keeps the count above 0 until it is received
+                    pending.incrementAndGet();
+                    return;
+                }
+                if (pending.get() == 0 || searchProblem.isCancelled()) {
+                    terminated = true;
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+}
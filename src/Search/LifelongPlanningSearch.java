@@ -0,0 +1,239 @@
+package Search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+// Lifelong planning A* (LPA*). Every generated state keeps its g-value, the cost it was last expanded with, and its rhs-value,
+// the cheapest cost its known predecessors offer. Only states where the two differ are queued, so once the problem changes
+// and the successors of some states are refreshed, the next search only repairs the costs that actually changed. All goal
+// states lead to one virtual goal at no cost. Optimal plans need a consistent heuristic, such as none at all.
+public class LifelongPlanningSearch {
+    private Problem problem;
+    private Map<Object, Vertex> vertices;
+    private Vertex start;
+    private Vertex goal;
+    private TreeSet<Vertex> queue;
+    private List<Node> successors;
+    // Heuristic values are recomputed lazily once the problem changes
+    private int heuristicVersion;
+    private long nextId;
+
+    private static class Vertex {
+        private State state;
+        private double g = Double.POSITIVE_INFINITY;
+        private double rhs = Double.POSITIVE_INFINITY;
+        private double h;
+        private int heuristicVersion = -1;
+        private double firstKey;
+        private double secondKey;
+        private boolean queued;
+        private boolean expanded;
+        private List<Edge> in;
+        private List<Edge> out;
+        private long id;
+
+        private Vertex(State state, long id) {
+            this.state = state;
+            this.id = id;
+            in = new ArrayList<>();
+            out = new ArrayList<>();
+        }
+    }
+
+    private static class Edge {
+        private Vertex from;
+        private Vertex to;
+        private Operator operator;
+        private double cost;
+
+        private Edge(Vertex from, Vertex to, Operator operator, double cost) {
+            this.from = from;
+            this.to = to;
+            this.operator = operator;
+            this.cost = cost;
+        }
+    }
+
+    public LifelongPlanningSearch(Problem problem) {
+        this.problem = problem;
+        vertices = new HashMap<>();
+        queue = new TreeSet<>((a, b) -> a.firstKey != b.firstKey ? Double.compare(a.firstKey, b.firstKey)
+                : a.secondKey != b.secondKey ? Double.compare(a.secondKey, b.secondKey) : Long.compare(a.id, b.id));
+        successors = new ArrayList<>();
+        goal = new Vertex(null, nextId++);
+        goal.expanded = true;
+        start = getVertex(problem.getInitialState());
+        start.rhs = 0;
+        updateKey(start);
+    }
+
+    public int getStatesCount() {
+        return vertices.size();
+    }
+
+    // Repairs the costs left inconsistent by the last changes and returns the goal node of an optimal plan, or null
+    public Node search() {
+        problem.startSearch();
+        Node goalNode = computeShortestPath() && goal.g < Double.POSITIVE_INFINITY ? getGoalNode() : null;
+        problem.finishSearch(goalNode);
+        return goalNode;
+    }
+
+    // To be called once the problem changed: the successors of the states matching the predicate are generated again, and
+    // the costs depending on them are queued for repair by the next search
+    public void refresh(Predicate<State> changed) {
+        heuristicVersion++;
+        List<Vertex> queued = new ArrayList<>(queue);
+        queue.clear();
+        for (Vertex vertex : queued) {
+            vertex.queued = false;
+            updateKey(vertex);
+        }
+        List<Vertex> stale = new ArrayList<>();
+        for (Vertex vertex : vertices.values()) {
+            if (vertex.expanded && changed.test(vertex.state)) {
+                stale.add(vertex);
+            }
+        }
+        List<Vertex> targets = new ArrayList<>();
+        for (Vertex vertex : stale) {
+            targets.clear();
+            for (Edge edge : vertex.out) {
+                edge.to.in.remove(edge);
+                targets.add(edge.to);
+            }
+            vertex.out.clear();
+            expand(vertex);
+            for (Edge edge : vertex.out) {
+                targets.add(edge.to);
+            }
+            for (Vertex target : targets) {
+                updateVertex(target);
+            }
+        }
+    }
+
+    private boolean computeShortestPath() {
+        while (!queue.isEmpty() && (!isAfterGoal(queue.first()) || goal.rhs != goal.g)) {
+            Vertex vertex = queue.first();
+            Node node = new Node(vertex.state, null, 0, null);
+            node.setPathCost(vertex.secondKey);
+            node.setEval(vertex.firstKey);
+            if (!problem.tryExpand(node, vertices.size())) {
+                return false;
+            }
+            queue.remove(vertex);
+            vertex.queued = false;
+            if (!vertex.expanded) {
+                expand(vertex);
+            }
+            if (vertex.g > vertex.rhs) {
+                vertex.g = vertex.rhs;
+            } else {
+                vertex.g = Double.POSITIVE_INFINITY;
+                updateVertex(vertex);
+            }
+            for (Edge edge : vertex.out) {
+                updateVertex(edge.to);
+            }
+        }
+        return true;
+    }
+
+    // States tied with the goal are repaired too, as zero cost operators would otherwise leave predecessors of the plan
+    // inconsistent
+    private boolean isAfterGoal(Vertex vertex) {
+        double secondKey = Math.min(goal.g, goal.rhs);
+        return vertex.firstKey != secondKey ? vertex.firstKey > secondKey : vertex.secondKey > secondKey;
+    }
+
+    private void expand(Vertex vertex) {
+        vertex.expanded = true;
+        if (problem.isGoal(vertex.state)) {
+            addEdge(vertex, goal, null, 0);
+            return;
+        }
+        successors.clear();
+        problem.expandNode(new Node(vertex.state, null, 0, null), successors);
+        for (Node successorNode : successors) {
+            Vertex successor = getVertex(successorNode.getState());
+            // Operators that leave the state as it is never lead anywhere cheaper
+            if (successor != vertex) {
+                addEdge(vertex, successor, successorNode.getOperator(), successorNode.getPathCost());
+            }
+        }
+    }
+
+    private Vertex getVertex(State state) {
+        Vertex vertex = vertices.get(state.getKey());
+        if (vertex == null) {
+            vertex = new Vertex(state, nextId++);
+            vertices.put(state.getKey(), vertex);
+        }
+        return vertex;
+    }
+
+    private void addEdge(Vertex from, Vertex to, Operator operator, double cost) {
+        Edge edge = new Edge(from, to, operator, cost);
+        from.out.add(edge);
+        to.in.add(edge);
+    }
+
+    private void updateVertex(Vertex vertex) {
+        if (vertex != start) {
+            vertex.rhs = Double.POSITIVE_INFINITY;
+            for (Edge edge : vertex.in) {
+                vertex.rhs = Math.min(vertex.rhs, edge.from.g + edge.cost);
+            }
+        }
+        if (vertex.queued) {
+            queue.remove(vertex);
+            vertex.queued = false;
+        }
+        updateKey(vertex);
+    }
+
+    private void updateKey(Vertex vertex) {
+        if (vertex.g == vertex.rhs) {
+            return;
+        }
+        if (vertex != goal && vertex.heuristicVersion != heuristicVersion) {
+            vertex.h = problem.evaluateHeuristic(new Node(vertex.state, null, 0, null));
+            vertex.heuristicVersion = heuristicVersion;
+        }
+        vertex.secondKey = Math.min(vertex.g, vertex.rhs);
+        vertex.firstKey = vertex.secondKey + vertex.h;
+        queue.add(vertex);
+        vertex.queued = true;
+    }
+
+    // Walks back from the goal through the predecessors the costs came from, which always decrease towards the start
+    private Node getGoalNode() {
+        List<Edge> edges = new ArrayList<>();
+        Vertex vertex = goal;
+        while (vertex != start) {
+            Edge best = null;
+            for (Edge edge : vertex.in) {
+                if (best == null || edge.from.g + edge.cost < best.from.g + best.cost) {
+                    best = edge;
+                }
+            }
+            edges.add(best);
+            vertex = best.from;
+        }
+        Node node = new Node(start.state, null, 0, null);
+        // The last edge only leads to the virtual goal
+        for (int i = edges.size() - 1; i > 0; i--) {
+            Edge edge = edges.get(i);
+            Node successorNode = new Node(edge.to.state, node, node.getDepth() + 1, edge.operator);
+            successorNode.setPathCost(node.getPathCost() + edge.cost);
+            successorNode.setEval(successorNode.getPathCost());
+            node = successorNode;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,169 @@
+package Search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Simplified memory-bounded A* (SMA*). Keeps at most nodeLimit nodes in memory: once the limit is exceeded the leaf with the
+// highest f-value is dropped and its parent remembers the least f-value it forgot, so that the branch is regenerated only
+// once everything else looks worse. Parents back up the least f-value of their children, keeping the estimates informed
+// while branches come and go. A state reached again while a cheaper or equal node for it is still in memory is not
+// generated twice.
+class MemoryBoundedSearch {
+    private Problem problem;
+    private int nodeLimit;
+    private TreeSet<MemoryNode> open;
+    private TreeSet<MemoryNode> leaves;
+    private Map<Object, MemoryNode> cheapestNodes;
+    private List<Node> successors;
+    private int size;
+    private long nextId;
+
+    private static class MemoryNode {
+        private Node node;
+        private MemoryNode parent;
+        private List<MemoryNode> children;
+        private double f;
+        private double forgottenF = Double.POSITIVE_INFINITY;
+        private boolean expanded;
+        private long id;
+
+        private MemoryNode(Node node, MemoryNode parent, double f, long id) {
+            this.node = node;
+            this.parent = parent;
+            this.f = f;
+            this.id = id;
+            children = new ArrayList<>();
+        }
+
+        // Unexpanded nodes are searched by their own estimate, expanded ones only to regenerate the children they forgot
+        private double getOpenKey() {
+            return expanded ? forgottenF : f;
+        }
+    }
+
+    MemoryBoundedSearch(Problem problem, int nodeLimit) {
+        this.problem = problem;
+        this.nodeLimit = nodeLimit;
+        // Best first is the lowest estimate and the deepest, worst first is the highest estimate and the shallowest
+        open = new TreeSet<>((a, b) -> a.getOpenKey() != b.getOpenKey() ? Double.compare(a.getOpenKey(), b.getOpenKey())
+                : a.node.getDepth() != b.node.getDepth() ? Integer.compare(b.node.getDepth(), a.node.getDepth()) : Long.compare(a.id, b.id));
+        leaves = new TreeSet<>((a, b) -> a.f != b.f ? Double.compare(b.f, a.f)
+                : a.node.getDepth() != b.node.getDepth() ? Integer.compare(a.node.getDepth(), b.node.getDepth()) : Long.compare(b.id, a.id));
+        cheapestNodes = new HashMap<>();
+        successors = new ArrayList<>();
+    }
+
+    Node search() {
+        Node root = new Node(problem.getInitialState(), null, 0, null);
+        problem.setNodeEvalCriteria(root);
+        MemoryNode memoryRoot = new MemoryNode(root, null, root.getEval(), nextId++);
+        cheapestNodes.put(root.getState().getKey(), memoryRoot);
+        attach(memoryRoot);
+        size = 1;
+        while (!open.isEmpty()) {
+            MemoryNode best = open.first();
+            if (best.getOpenKey() == Double.POSITIVE_INFINITY || !problem.tryExpand(best.node, size)) {
+                return null;
+            }
+            if (!best.expanded && problem.isGoal(best.node.getState())) {
+                return best.node;
+            }
+            expand(best);
+            while (size > nodeLimit) {
+                forget(leaves.first());
+            }
+        }
+        return null;
+    }
+
+    // Generates the children of the node that are not in memory, which is all of them on the first expansion
+    private void expand(MemoryNode memoryNode) {
+        detach(memoryNode);
+        Set<Object> keys = new HashSet<>();
+        for (MemoryNode child : memoryNode.children) {
+            keys.add(child.node.getState().getKey());
+        }
+        successors.clear();
+        problem.expandNode(memoryNode.node, successors);
+        for (Node successorNode : successors) {
+            Object key = successorNode.getState().getKey();
+            MemoryNode cheapest = cheapestNodes.get(key);
+            if (keys.contains(key) || cheapest != null && cheapest.node.getPathCost() <= successorNode.getPathCost()) {
+                continue;
+            }
+            double f;
+            if (problem.isGoal(successorNode.getState())) {
+                f = successorNode.getPathCost();
+            } else if (successorNode.getDepth() >= nodeLimit - 1) {
+                // A path this long cannot be kept in memory together with anything below it
+                f = Double.POSITIVE_INFINITY;
+            } else {
+                f = Math.max(memoryNode.f, successorNode.getEval());
+            }
+            successorNode.setEval(f);
+            MemoryNode child = new MemoryNode(successorNode, memoryNode, f, nextId++);
+            memoryNode.children.add(child);
+            cheapestNodes.put(key, child);
+            attach(child);
+            size++;
+        }
+        memoryNode.expanded = true;
+        memoryNode.forgottenF = Double.POSITIVE_INFINITY;
+        memoryNode.f = getBackedUpF(memoryNode);
+        attach(memoryNode);
+        backUp(memoryNode.parent);
+    }
+
+    private void forget(MemoryNode leaf) {
+        detach(leaf);
+        cheapestNodes.remove(leaf.node.getState().getKey(), leaf);
+        MemoryNode parent = leaf.parent;
+        detach(parent);
+        parent.children.remove(leaf);
+        parent.forgottenF = Math.min(parent.forgottenF, leaf.f);
+        attach(parent);
+        size--;
+    }
+
+    private double getBackedUpF(MemoryNode memoryNode) {
+        double f = memoryNode.forgottenF;
+        for (MemoryNode child : memoryNode.children) {
+            f = Math.min(f, child.f);
+        }
+        return f;
+    }
+
+    // Propagates the least f-value of the children up the tree for as long as it changes anything
+    private void backUp(MemoryNode memoryNode) {
+        while (memoryNode != null) {
+            double f = getBackedUpF(memoryNode);
+            if (f == memoryNode.f) {
+                return;
+            }
+            detach(memoryNode);
+            memoryNode.f = f;
+            attach(memoryNode);
+            memoryNode = memoryNode.parent;
+        }
+    }
+
+    private void detach(MemoryNode memoryNode) {
+        open.remove(memoryNode);
+        leaves.remove(memoryNode);
+    }
+
+    private void attach(MemoryNode memoryNode) {
+        if (!memoryNode.expanded || memoryNode.forgottenF < Double.POSITIVE_INFINITY) {
+            open.add(memoryNode);
+        }
+        // The root stays, as everything else hangs from it
+        if (memoryNode.children.isEmpty() && memoryNode.parent != null) {
+            leaves.add(memoryNode);
+        }
+    }
+}
@@ -7,6 +7,8 @@ public class Node implements Comparable<Node> {
     private int depth;
     private double eval;
     private double pathCost;
+    int heapIndex = -1;
+    int storeIndex = -1;
 
     public Node(State state, Node parent, int depth, Operator operator) {
         this.state = state;
@@ -47,12 +49,17 @@ public class Node implements Comparable<Node> {
         this.pathCost = pathCost;
     }
 
+    // Once a node is kept in a NodeStore its ancestors are reachable by index, so the object chain can be cut
+    void detachParent() {
+        parent = null;
+    }
+
     public boolean isRootNode() {
         return parent == null;
     }
 
     @Override
     public int compareTo(Node node) {
-        return Double.compare(node.eval, this.eval);
+        return Double.compare(this.eval, node.eval);
     }
 }
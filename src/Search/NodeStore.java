@@ -0,0 +1,125 @@
+package Search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NodeStore {
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private int[][] parents;
+    private int[][] operators;
+    private int[][] depths;
+    private double[][] pathCosts;
+    private double[][] evals;
+    private State[][] states;
+    private List<Operator> operatorTable;
+    private Map<Operator, Integer> operatorIds;
+    private int size;
+
+    public NodeStore() {
+        parents = new int[0][];
+        operators = new int[0][];
+        depths = new int[0][];
+        pathCosts = new double[0][];
+        evals = new double[0][];
+        states = new State[0][];
+        operatorTable = new ArrayList<>();
+        operatorIds = new IdentityHashMap<>();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int add(State state, int parent, Operator operator, int depth, double pathCost, double eval) {
+        int chunk = size >>> CHUNK_BITS;
+        if (chunk == parents.length) {
+            grow();
+        }
+        int offset = size & CHUNK_MASK;
+        parents[chunk][offset] = parent;
+        operators[chunk][offset] = operator == null ? -1 : operatorIds.computeIfAbsent(operator, this::registerOperator);
+        depths[chunk][offset] = depth;
+        pathCosts[chunk][offset] = pathCost;
+        evals[chunk][offset] = eval;
+        states[chunk][offset] = state;
+        return size++;
+    }
+
+    // Stores the node under its parent's index, the node's parent must already be stored
+    public int add(Node node) {
+        Node parent = node.getParent();
+        return add(node.getState(), parent == null ? -1 : parent.storeIndex, node.getOperator(), node.getDepth(), node.getPathCost(), node.getEval());
+    }
+
+    public int getParent(int index) {
+        return parents[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public Operator getOperator(int index) {
+        int operator = operators[index >>> CHUNK_BITS][index & CHUNK_MASK];
+        return operator < 0 ? null : operatorTable.get(operator);
+    }
+
+    public int getDepth(int index) {
+        return depths[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public double getPathCost(int index) {
+        return pathCosts[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public double getEval(int index) {
+        return evals[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public State getState(int index) {
+        return states[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    // Rebuilds the Node chain from the root down to the stored node so path reconstruction works as usual
+    public Node toNode(int index) {
+        int[] path = new int[getDepth(index) + 1];
+        int length = 0;
+        for (int current = index; current >= 0; current = getParent(current)) {
+            if (length == path.length) {
+                path = Arrays.copyOf(path, length * 2);
+            }
+            path[length++] = current;
+        }
+        Node node = null;
+        for (int i = length - 1; i >= 0; i--) {
+            int current = path[i];
+            node = new Node(getState(current), node, getDepth(current), getOperator(current));
+            node.setPathCost(getPathCost(current));
+            node.setEval(getEval(current));
+            node.storeIndex = current;
+        }
+        return node;
+    }
+
+    private int registerOperator(Operator operator) {
+        operatorTable.add(operator);
+        return operatorTable.size() - 1;
+    }
+
+    private void grow() {
+        int chunks = parents.length + 1;
+        parents = Arrays.copyOf(parents, chunks);
+        operators = Arrays.copyOf(operators, chunks);
+        depths = Arrays.copyOf(depths, chunks);
+        pathCosts = Arrays.copyOf(pathCosts, chunks);
+        evals = Arrays.copyOf(evals, chunks);
+        states = Arrays.copyOf(states, chunks);
+        parents[chunks - 1] = new int[CHUNK_SIZE];
+        operators[chunks - 1] = new int[CHUNK_SIZE];
+        depths[chunks - 1] = new int[CHUNK_SIZE];
+        pathCosts[chunks - 1] = new double[CHUNK_SIZE];
+        evals[chunks - 1] = new double[CHUNK_SIZE];
+        states[chunks - 1] = new State[CHUNK_SIZE];
+    }
+}
@@ -1,10 +1,12 @@
 package Search;
 
 public class Operator {
+    private int id;
     private String name;
     private double cost;
 
     public Operator(String name) {
+        this.id = -1;
         this.name = name;
         this.cost = 0;
     }
@@ -14,6 +16,15 @@ public class Operator {
         this.cost = cost;
     }
 
+    public Operator(int id, String name, double cost) {
+        this(name, cost);
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,76 @@
+package Search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collector;
+
+// Level synchronous breadth first search. A whole depth layer is expanded at once by a fork/join pool, every thread using its
+// own search context and collecting the next layer in its own buffer, with duplicates removed through a concurrent visited set.
+// A goal is only looked for in complete layers, so the plan found is still a shallowest one.
+class ParallelBreadthFirstSearch {
+    private Problem problem;
+    private Set<Object> visited;
+    private ThreadLocal<Problem> workers;
+    private ThreadLocal<List<Node>> successors;
+
+    private ParallelBreadthFirstSearch(Problem problem) {
+        this.problem = problem;
+        visited = ConcurrentHashMap.newKeySet();
+        workers = ThreadLocal.withInitial(problem::createSearchWorker);
+        successors = ThreadLocal.withInitial(ArrayList::new);
+    }
+
+    static Node search(Problem problem, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new ParallelBreadthFirstSearch(problem).search(pool);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel breadth first search failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Node search(ForkJoinPool pool) throws InterruptedException, ExecutionException {
+        Node root = new Node(problem.getInitialState(), null, 0, null);
+        visited.add(root.getState().getKey());
+        List<Node> layer = Collections.singletonList(root);
+        Collector<Node, List<Node>, List<Node>> nextLayerCollector = Collector.of(ArrayList::new, this::expand, (nodes, otherNodes) -> {
+            nodes.addAll(otherNodes);
+            return nodes;
+        });
+        while (!layer.isEmpty() && !problem.isCancelled()) {
+            List<Node> currentLayer = layer;
+            Optional<Node> goalNode = pool.submit(() -> currentLayer.parallelStream().filter(node -> problem.isGoal(node.getState())).findFirst()).get();
+            if (goalNode.isPresent()) {
+                return goalNode.get();
+            }
+            layer = pool.submit(() -> currentLayer.parallelStream().collect(nextLayerCollector)).get();
+        }
+        return null;
+    }
+
+    private void expand(List<Node> nextLayer, Node node) {
+        if (!problem.tryExpand(node, visited.size())) {
+            return;
+        }
+        Problem worker = workers.get();
+        List<Node> nodeSuccessors = successors.get();
+        nodeSuccessors.clear();
+        worker.expandNode(node, nodeSuccessors);
+        for (Node successorNode : nodeSuccessors) {
+            if (visited.add(successorNode.getState().getKey())) {
+                nextLayer.add(successorNode);
+            }
+        }
+    }
+}
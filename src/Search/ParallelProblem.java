@@ -0,0 +1,7 @@
+package Search;
+
+// Problems that can be searched on several threads
+public interface ParallelProblem {
+    // An independent search context for the same problem instance and strategy
+    Problem createWorker();
+}
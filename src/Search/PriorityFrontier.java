@@ -0,0 +1,139 @@
+package Search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PriorityFrontier implements Frontier {
+    private static final int INITIAL_CAPACITY = 64;
+    private Node[] heap;
+    private long[] order;
+    private Map<Object, Node> nodesByKey;
+    private int size;
+    private long insertions;
+
+    public PriorityFrontier() {
+        heap = new Node[INITIAL_CAPACITY];
+        order = new long[INITIAL_CAPACITY];
+        nodesByKey = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(State state) {
+        return nodesByKey.containsKey(state.getKey());
+    }
+
+    // Inserts the node, or replaces the queued node of the same state if the new one is cheaper (decrease-key)
+    @Override
+    public boolean add(Node node) {
+        Object key = node.getState().getKey();
+        Node queued = nodesByKey.get(key);
+        if (queued == null) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+                order = Arrays.copyOf(order, size * 2);
+            }
+            nodesByKey.put(key, node);
+            heap[size] = node;
+            order[size] = insertions++;
+            node.heapIndex = size;
+            siftUp(size++);
+            return true;
+        }
+        if (node.getEval() < queued.getEval()) {
+            int index = queued.heapIndex;
+            queued.heapIndex = -1;
+            nodesByKey.put(key, node);
+            heap[index] = node;
+            node.heapIndex = index;
+            siftUp(index);
+            return true;
+        }
+        return false;
+    }
+
+    public Node peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    @Override
+    public boolean closesOnExpansion() {
+        return true;
+    }
+
+    @Override
+    public Node remove() {
+        if (size == 0) {
+            return null;
+        }
+        Node first = heap[0];
+        size--;
+        if (size > 0) {
+            move(size, 0);
+            siftDown(0);
+        }
+        heap[size] = null;
+        nodesByKey.remove(first.getState().getKey());
+        first.heapIndex = -1;
+        return first;
+    }
+
+    // Lower eval first, ties broken by insertion order so the search is deterministic
+    private boolean precedes(int i, int j) {
+        int comparison = heap[i].compareTo(heap[j]);
+        return comparison < 0 || comparison == 0 && order[i] < order[j];
+    }
+
+    private void siftUp(int index) {
+        Node node = heap[index];
+        long nodeOrder = order[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int comparison = node.compareTo(heap[parent]);
+            if (comparison > 0 || comparison == 0 && nodeOrder > order[parent]) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        heap[index] = node;
+        order[index] = nodeOrder;
+        node.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Node node = heap[index];
+        long nodeOrder = order[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && precedes(child + 1, child)) {
+                child++;
+            }
+            int comparison = node.compareTo(heap[child]);
+            if (comparison < 0 || comparison == 0 && nodeOrder < order[child]) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        heap[index] = node;
+        order[index] = nodeOrder;
+        node.heapIndex = index;
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        order[to] = order[from];
+        heap[to].heapIndex = to;
+    }
+}
@@ -1,15 +1,36 @@
 package Search;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 public abstract class Problem {
     private List<Operator> operators;
     private State initialState;
     private int depthLimit;
     private Strategy strategy;
+    private boolean nodeStoreEnabled;
+    private TranspositionTable transpositionTable;
+    private double depthLimitGrowthFactor = 1;
+    private int depthTableCapacity = 1 << 18;
+    private CancellationToken cancellationToken;
+    private int parallelism = 1;
+    private double initialHeuristicWeight = 3;
+    private double heuristicWeightStep = 0.5;
+    private int nodeLimit = 100000;
+    private int beamWidth = 1000;
+    private SearchBudget searchBudget = SearchBudget.UNLIMITED;
+    private Path externalMemoryDirectory;
+    private int externalMemoryRunLength = 1 << 20;
+    private SearchMonitor searchMonitor;
+    private SearchStatus searchStatus;
+    private boolean statisticsEnabled;
+    private SearchCounters searchCounters;
+    private SearchEvent searchEvent;
+    private SearchStats searchStats;
 
     public List<Operator> getOperators() {
         return operators;
@@ -25,6 +46,10 @@ public abstract class Problem {
 
     protected void setInitialState(State initialState) {
         this.initialState = initialState;
+        // A new initial state means a new search, whose heuristic values may differ from the cached ones
+        if (transpositionTable != null) {
+            transpositionTable.clear();
+        }
     }
 
     public int getDepthLimit() {
@@ -35,6 +60,192 @@ public abstract class Problem {
         this.depthLimit = depthLimit;
     }
 
+    public double getDepthLimitGrowthFactor() {
+        return depthLimitGrowthFactor;
+    }
+
+    public void setDepthLimitGrowthFactor(double depthLimitGrowthFactor) {
+        this.depthLimitGrowthFactor = depthLimitGrowthFactor;
+    }
+
+    public int getDepthTableCapacity() {
+        return depthTableCapacity;
+    }
+
+    // States per iteration whose least depth iterative deepening remembers to skip shallower revisits, 0 leaves only the
+    // cycle checks along the path, so memory stays linear in the depth but unsolvable problems can take exponential time
+    public void setDepthTableCapacity(int depthTableCapacity) {
+        if (depthTableCapacity < 0) {
+            throw new IllegalArgumentException("The depth table capacity must not be negative");
+        }
+        this.depthTableCapacity = depthTableCapacity;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    // Searches check the token once per expansion and give up without a solution once it is cancelled
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    // True once the token is cancelled or the running search went over its budget
+    protected boolean isCancelled() {
+        if (searchMonitor != null) {
+            return searchMonitor.isStopped();
+        }
+        return cancellationToken != null && cancellationToken.isCancelled();
+    }
+
+    // Every search calls this once per node it expands, and stops without a solution as soon as it returns false
+    protected boolean tryExpand(Node node, long retainedNodes) {
+        if (searchMonitor != null) {
+            return searchMonitor.tryExpand(node, retainedNodes);
+        }
+        return !isCancelled();
+    }
+
+    public SearchBudget getSearchBudget() {
+        return searchBudget;
+    }
+
+    public void setSearchBudget(SearchBudget searchBudget) {
+        this.searchBudget = searchBudget != null ? searchBudget : SearchBudget.UNLIMITED;
+    }
+
+    // Rough size of a node kept by a search, together with its state and its entry in the repeated states set
+    protected long getEstimatedNodeSize() {
+        return 160;
+    }
+
+    // How the last search ended, null before the first one
+    public SearchStatus getSearchStatus() {
+        return searchStatus;
+    }
+
+    public long getExpandedNodesCount() {
+        return searchMonitor != null ? searchMonitor.getExpandedNodesCount() : 0;
+    }
+
+    public long getSearchTimeNanos() {
+        return searchMonitor != null ? searchMonitor.getElapsedNanos() : 0;
+    }
+
+    public long getEstimatedMemoryBytes() {
+        return searchMonitor != null ? searchMonitor.getEstimatedMemoryBytes() : 0;
+    }
+
+    // The expanded node with the least heuristic estimate in the last search, for informed strategies only. Useful as a
+    // partial plan when the search stopped before reaching a goal.
+    public Node getBestNode() {
+        return searchMonitor != null ? searchMonitor.getBestNode() : null;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    // Counts generated nodes, duplicates and frontier sizes and times expansions, heuristics and frontier operations. They
+    // are also counted while a flight recording has the search event enabled.
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    // Statistics of the last search
+    public SearchStats getSearchStats() {
+        return searchStats;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    // Threads used by strategies with a parallel mode. Above 1, breadth first search expands whole layers in parallel and
+    // cost ordered strategies run hash distributed A*. Above 1 only for problems implementing ParallelProblem.
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (parallelism > 1 && !(this instanceof ParallelProblem)) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support parallel search");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public double getInitialHeuristicWeight() {
+        return initialHeuristicWeight;
+    }
+
+    public double getHeuristicWeightStep() {
+        return heuristicWeightStep;
+    }
+
+    // Anytime searches start weighting the heuristic by the initial weight and lower it by the step down to 1 after every plan
+    public void setHeuristicWeights(double initialHeuristicWeight, double heuristicWeightStep) {
+        if (initialHeuristicWeight < 1 || heuristicWeightStep <= 0) {
+            throw new IllegalArgumentException("The initial heuristic weight must be at least 1 and the step positive");
+        }
+        this.initialHeuristicWeight = initialHeuristicWeight;
+        this.heuristicWeightStep = heuristicWeightStep;
+    }
+
+    public int getNodeLimit() {
+        return nodeLimit;
+    }
+
+    // Memory-bounded A* keeps at most this many nodes, and cannot find solutions deeper than the limit
+    public void setNodeLimit(int nodeLimit) {
+        if (nodeLimit < 1) {
+            throw new IllegalArgumentException("The node limit must be at least 1");
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    // Beam search keeps only this many of the best nodes of every depth
+    public void setBeamWidth(int beamWidth) {
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("The beam width must be at least 1");
+        }
+        this.beamWidth = beamWidth;
+    }
+
+    public Path getExternalMemoryDirectory() {
+        return externalMemoryDirectory;
+    }
+
+    // Breadth first and uniform cost search keep their frontier and repeated states in files under this directory instead
+    // of the heap, null keeps them in memory. Only for problems implementing ExternalMemoryProblem.
+    public void setExternalMemoryDirectory(Path externalMemoryDirectory) {
+        if (externalMemoryDirectory != null && !(this instanceof ExternalMemoryProblem)) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support external memory search");
+        }
+        this.externalMemoryDirectory = externalMemoryDirectory;
+    }
+
+    public int getExternalMemoryRunLength() {
+        return externalMemoryRunLength;
+    }
+
+    // External memory search sorts this many states at a time in memory
+    public void setExternalMemoryRunLength(int externalMemoryRunLength) {
+        if (externalMemoryRunLength < 1) {
+            throw new IllegalArgumentException("The external memory run length must be at least 1");
+        }
+        this.externalMemoryRunLength = externalMemoryRunLength;
+    }
+
+    // A worker counting into the statistics of this problem
+    Problem createSearchWorker() {
+        Problem worker = ((ParallelProblem) this).createWorker();
+        worker.searchCounters = searchCounters;
+        return worker;
+    }
+
     public Strategy getStrategy() {
         return strategy;
     }
@@ -43,9 +254,46 @@ public abstract class Problem {
         this.strategy = strategy;
     }
 
+    public boolean isNodeStoreEnabled() {
+        return nodeStoreEnabled;
+    }
+
+    // Keeps expanded nodes in primitive arrays instead of a chain of Node objects
+    public void setNodeStoreEnabled(boolean nodeStoreEnabled) {
+        this.nodeStoreEnabled = nodeStoreEnabled;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    // Caches heuristic values of up to capacity distinct states, 0 disables the cache
+    public void setTranspositionTableCapacity(int capacity) {
+        transpositionTable = capacity > 0 ? new TranspositionTable(capacity) : null;
+    }
+
     public abstract boolean isGoal(State state);
 
-    public abstract List<Node> expand(Node node, List<Operator> operator);
+    // Appends the successors of the node to the given buffer, which callers reuse across expansions
+    public abstract void expand(Node node, List<Operator> operators, List<Node> successors);
+
+    // The expansions of the search engines, timed while statistics are collected
+    void expandNode(Node node, List<Node> successors) {
+        if (searchCounters == null) {
+            expand(node, operators, successors);
+            return;
+        }
+        int successorsCount = successors.size();
+        long start = System.nanoTime();
+        expand(node, operators, successors);
+        searchCounters.addExpansion(successors.size() - successorsCount, System.nanoTime() - start);
+    }
+
+    public List<Node> expand(Node node, List<Operator> operators) {
+        List<Node> successors = new ArrayList<>();
+        expand(node, operators, successors);
+        return successors;
+    }
 
     public abstract double calculatePathCost(Node node);
 
@@ -53,18 +301,54 @@ public abstract class Problem {
 
     public abstract double evaluateHeuristicTwo(Node node);
 
-    protected void setNodeEvalCriteria(Node node) {
-        if (strategy == Strategy.UC) {
-            node.setEval(node.getPathCost());
-        } else if (strategy == Strategy.GR1) {
-            node.setEval(evaluateHeuristicOne(node));
-        } else if (strategy == Strategy.GR2) {
-            node.setEval(evaluateHeuristicTwo(node));
-        } else if (strategy == Strategy.AS1) {
-            node.setEval(node.getPathCost() + evaluateHeuristicOne(node));
-        } else if (strategy == Strategy.AS2) {
-            node.setEval(node.getPathCost() + evaluateHeuristicTwo(node));
+    public abstract double evaluateHeuristicThree(Node node);
+
+    public abstract double evaluateHeuristicFour(Node node);
+
+    protected double evaluateHeuristic(Node node, int heuristic) {
+        switch (heuristic) {
+            case 1:
+                return evaluateHeuristicOne(node);
+            case 2:
+                return evaluateHeuristicTwo(node);
+            case 3:
+                return evaluateHeuristicThree(node);
+            case 4:
+                return evaluateHeuristicFour(node);
+            default:
+                return 0;
+        }
+    }
+
+    protected double evaluateHeuristic(Node node) {
+        int heuristic = strategy.getHeuristic();
+        if (heuristic == 0) {
+            return 0;
+        }
+        if (searchCounters == null) {
+            return evaluateCachedHeuristic(node, heuristic);
         }
+        long start = System.nanoTime();
+        double value = evaluateCachedHeuristic(node, heuristic);
+        searchCounters.addHeuristicNanos(System.nanoTime() - start);
+        return value;
+    }
+
+    private double evaluateCachedHeuristic(Node node, int heuristic) {
+        if (transpositionTable == null) {
+            return evaluateHeuristic(node, heuristic);
+        }
+        Object key = node.getState().getKey();
+        Double value = transpositionTable.get(key);
+        if (value == null) {
+            value = evaluateHeuristic(node, heuristic);
+            transpositionTable.put(key, value);
+        }
+        return value;
+    }
+
+    protected void setNodeEvalCriteria(Node node) {
+        node.setEval((strategy.isPathCostIncluded() ? node.getPathCost() : 0) + evaluateHeuristic(node));
     }
 
     protected static List<Node> getChosenExpandedNodes(Node node) {
@@ -76,58 +360,267 @@ public abstract class Problem {
         return nodes;
     }
 
-    private static boolean isRepeatedState(State testState, List<State> repeatedStates) {
-        return repeatedStates.stream().anyMatch(state -> state.isSame(testState));
-    }
-
     protected static Node generalSearch(Problem problem, Strategy strategy) {
-        ArrayList<State> repeatedStates = new ArrayList<>();
-        LinkedList<Node> nodes = new LinkedList<>();
-        nodes.add(new Node(problem.initialState, null, 0, null));
-        Node node;
-        while (!nodes.isEmpty()) {
-            node = nodes.removeFirst();
-            if (problem.isGoal(node.getState())) {
-                return node;
-            }
-            for (Node successorNode : problem.expand(node, problem.operators)) {
-                if (!isRepeatedState(successorNode.getState(), repeatedStates)) {
-                    switch (strategy) {
-                        case BF:
-                            nodes.addLast(successorNode);
-                            break;
-                        case DF:
-                            nodes.addFirst(successorNode);
-                            break;
-                        case ID:
-                            nodes.addFirst(successorNode);
-                            break;
-                        case UC:
-                        case GR1:
-                        case GR2:
-                        case AS1:
-                        case AS2:
-                            nodes.add(successorNode);
-                            Collections.sort(nodes);
-                            break;
+        Set<Object> repeatedStates = new HashSet<>();
+        List<Node> successors = new ArrayList<>();
+        Frontier nodes = strategy.createFrontier();
+        NodeStore nodeStore = problem.nodeStoreEnabled ? new NodeStore() : null;
+        boolean closesOnExpansion = nodes.closesOnExpansion();
+        // Frontier work is counted locally and added to the counters once the search returns
+        SearchCounters counters = problem.searchCounters;
+        long duplicatesPruned = 0;
+        long frontierNanos = 0;
+        long peakFrontierSize = 1;
+        Node node = new Node(problem.initialState, null, 0, null);
+        problem.setNodeEvalCriteria(node);
+        nodes.add(node);
+        if (!closesOnExpansion) {
+            repeatedStates.add(node.getState().getKey());
+        }
+        try {
+            while (!nodes.isEmpty()) {
+                long start = counters != null ? System.nanoTime() : 0;
+                node = nodes.remove();
+                if (counters != null) {
+                    frontierNanos += System.nanoTime() - start;
+                }
+                if (!problem.tryExpand(node, repeatedStates.size() + nodes.size())) {
+                    problem.restoreBestNode(nodeStore);
+                    return null;
+                }
+                if (nodeStore != null) {
+                    node.storeIndex = nodeStore.add(node);
+                    node.detachParent();
+                }
+                if (problem.isGoal(node.getState())) {
+                    return nodeStore != null ? nodeStore.toNode(node.storeIndex) : node;
+                }
+                if (closesOnExpansion) {
+                    repeatedStates.add(node.getState().getKey());
+                }
+                successors.clear();
+                problem.expandNode(node, successors);
+                start = counters != null ? System.nanoTime() : 0;
+                for (Node successorNode : successors) {
+                    Object key = successorNode.getState().getKey();
+                    if (closesOnExpansion ? !repeatedStates.contains(key) : repeatedStates.add(key)) {
+                        nodes.add(successorNode);
+                    } else {
+                        duplicatesPruned++;
                     }
-                    repeatedStates.add(successorNode.getState());
                 }
+                if (counters != null) {
+                    frontierNanos += System.nanoTime() - start;
+                    peakFrontierSize = Math.max(peakFrontierSize, nodes.size());
+                }
+            }
+            problem.restoreBestNode(nodeStore);
+            return null;
+        } finally {
+            if (counters != null) {
+                counters.addFrontierWork(duplicatesPruned, frontierNanos, peakFrontierSize, repeatedStates.size());
             }
         }
-        return null;
     }
 
+    // The best node may have been cut from its parent by the node store
+    private void restoreBestNode(NodeStore nodeStore) {
+        if (nodeStore != null && searchMonitor != null) {
+            searchMonitor.restoreBestNode(nodeStore);
+        }
+    }
+
+    // Depth limits grow by one per iteration by default, which finds the shallowest goal. A larger factor multiplies the
+    // limit instead, trading the shallowest solution for fewer repeated iterations on deep problems.
     protected static Node iterativeDeepeningSearch(Problem problem) {
+        DepthFirstSearch depthFirstSearch = new DepthFirstSearch(problem, true, problem.depthTableCapacity);
+        Node root = new Node(problem.initialState, null, 0, null);
         problem.depthLimit = 0;
-        Node goalNode = null;
-        while (problem.depthLimit < Integer.MAX_VALUE) {
-            goalNode = generalSearch(problem, Strategy.ID);
+        while (true) {
+            Node goalNode = depthFirstSearch.search(root, problem.depthLimit);
+            if (goalNode != null) {
+                return goalNode;
+            }
+            // Nothing was cut off by the limit, so a deeper limit would not find anything either
+            if (!depthFirstSearch.isCutOff() || problem.depthLimit == Integer.MAX_VALUE || problem.isCancelled()) {
+                return null;
+            }
+            problem.depthLimit = (int) Math.min(Integer.MAX_VALUE, Math.max(problem.depthLimit + 1L, (long) Math.ceil(problem.depthLimit * problem.depthLimitGrowthFactor)));
+        }
+    }
+
+    protected static Node iterativeDeepeningAStarSearch(Problem problem) {
+        DepthFirstSearch depthFirstSearch = new DepthFirstSearch(problem, false, 0);
+        Node root = new Node(problem.initialState, null, 0, null);
+        problem.setNodeEvalCriteria(root);
+        double bound = root.getEval();
+        while (bound < Double.POSITIVE_INFINITY && !problem.isCancelled()) {
+            Node goalNode = depthFirstSearch.search(root, bound);
             if (goalNode != null) {
-                break;
+                return goalNode;
             }
-            problem.depthLimit++;
+            bound = depthFirstSearch.getNextBound();
         }
+        return null;
+    }
+
+    // Searches depth by depth, keeping only the best nodes of each. Memory grows with the beam width times the depth, at the
+    // cost of missing solutions whose nodes fall out of the beam.
+    protected static Node beamSearch(Problem problem) {
+        Set<Object> repeatedStates = new HashSet<>();
+        List<Node> successors = new ArrayList<>();
+        List<Node> beam = new ArrayList<>();
+        List<Node> candidates = new ArrayList<>();
+        SearchCounters counters = problem.searchCounters;
+        long duplicatesPruned = 0;
+        long frontierNanos = 0;
+        long peakFrontierSize = 1;
+        Node root = new Node(problem.initialState, null, 0, null);
+        problem.setNodeEvalCriteria(root);
+        beam.add(root);
+        repeatedStates.add(root.getState().getKey());
+        try {
+            while (!beam.isEmpty()) {
+                candidates.clear();
+                for (Node node : beam) {
+                    if (!problem.tryExpand(node, repeatedStates.size() + candidates.size())) {
+                        return null;
+                    }
+                    if (problem.isGoal(node.getState())) {
+                        return node;
+                    }
+                    successors.clear();
+                    problem.expandNode(node, successors);
+                    for (Node successorNode : successors) {
+                        if (!repeatedStates.contains(successorNode.getState().getKey())) {
+                            candidates.add(successorNode);
+                        } else {
+                            duplicatesPruned++;
+                        }
+                    }
+                }
+                long start = counters != null ? System.nanoTime() : 0;
+                peakFrontierSize = Math.max(peakFrontierSize, candidates.size());
+                // The sort is stable, so among equally good nodes the ones generated first are kept
+                candidates.sort(null);
+                beam.clear();
+                for (int i = 0; i < candidates.size() && beam.size() < problem.beamWidth; i++) {
+                    Node candidate = candidates.get(i);
+                    if (repeatedStates.add(candidate.getState().getKey())) {
+                        beam.add(candidate);
+                    } else {
+                        duplicatesPruned++;
+                    }
+                }
+                if (counters != null) {
+                    frontierNanos += System.nanoTime() - start;
+                }
+            }
+            return null;
+        } finally {
+            if (counters != null) {
+                counters.addFrontierWork(duplicatesPruned, frontierNanos, peakFrontierSize, repeatedStates.size());
+            }
+        }
+    }
+
+    // Returns the best plan found before the search budget runs out
+    protected static Node anytimeSearch(Problem problem, SolutionListener listener) {
+        problem.startSearch();
+        Node goalNode = new AnytimeRepairingSearch(problem, listener).search(problem.initialHeuristicWeight, problem.heuristicWeightStep);
+        problem.finishSearch(goalNode);
         return goalNode;
     }
+
+    void startSearch() {
+        searchStatus = null;
+        searchStats = null;
+        searchMonitor = new SearchMonitor(searchBudget, cancellationToken, getEstimatedNodeSize(), strategy);
+        searchEvent = new SearchEvent();
+        searchEvent.begin();
+        searchCounters = statisticsEnabled || searchEvent.isEnabled() ? new SearchCounters() : null;
+    }
+
+    // A plan found by an anytime search still reports the budget that stopped it from improving further
+    void finishSearch(Node goalNode) {
+        searchMonitor.finish();
+        if (searchMonitor.getStopStatus() != null) {
+            searchStatus = searchMonitor.getStopStatus();
+        } else {
+            searchStatus = goalNode != null ? SearchStatus.SOLVED : SearchStatus.NO_SOLUTION;
+        }
+        long expandedNodesCount = searchMonitor.getExpandedNodesCount();
+        long searchTimeNanos = searchMonitor.getElapsedNanos();
+        searchStats = searchCounters != null ? searchCounters.toSearchStats(expandedNodesCount, searchTimeNanos, goalNode)
+                : new SearchStats(expandedNodesCount, searchTimeNanos, goalNode != null ? goalNode.getDepth() : -1);
+        searchCounters = null;
+        searchEvent.end();
+        if (searchEvent.shouldCommit()) {
+            searchEvent.strategy = strategy.name();
+            searchEvent.status = searchStatus.name();
+            searchEvent.generatedNodes = searchStats.getGeneratedNodesCount();
+            searchEvent.expandedNodes = expandedNodesCount;
+            searchEvent.duplicatesPruned = searchStats.getDuplicatesPrunedCount();
+            searchEvent.peakFrontierSize = searchStats.getPeakFrontierSize();
+            searchEvent.closedSetSize = searchStats.getClosedSetSize();
+            searchEvent.estimatedMemory = searchMonitor.getEstimatedMemoryBytes();
+            searchEvent.expandTime = searchStats.getExpandTimeNanos();
+            searchEvent.heuristicTime = searchStats.getHeuristicTimeNanos();
+            searchEvent.frontierTime = searchStats.getFrontierTimeNanos();
+            searchEvent.solutionDepth = searchStats.getSolutionDepth();
+            searchEvent.effectiveBranchingFactor = searchStats.getEffectiveBranchingFactor();
+            searchEvent.commit();
+        }
+        searchEvent = null;
+    }
+
+    protected static Node runSearch(Problem problem, Strategy strategy) {
+        problem.startSearch();
+        Node goalNode = dispatchSearch(problem, strategy);
+        problem.finishSearch(goalNode);
+        return goalNode;
+    }
+
+    private static Node dispatchSearch(Problem problem, Strategy strategy) {
+        switch (strategy) {
+            case BF:
+                if (problem.externalMemoryDirectory != null) {
+                    return ExternalMemorySearch.search(problem, false, problem.externalMemoryDirectory, problem.externalMemoryRunLength);
+                }
+                if (problem.parallelism > 1) {
+                    return ParallelBreadthFirstSearch.search(problem, problem.parallelism);
+                }
+                return generalSearch(problem, strategy);
+            case ID:
+                return iterativeDeepeningSearch(problem);
+            case IDA1:
+            case IDA2:
+            case IDA3:
+            case IDA4:
+                return iterativeDeepeningAStarSearch(problem);
+            case ARA1:
+            case ARA2:
+            case ARA3:
+            case ARA4:
+                return new AnytimeRepairingSearch(problem, null).search(problem.initialHeuristicWeight, problem.heuristicWeightStep);
+            case SMA1:
+            case SMA2:
+            case SMA3:
+            case SMA4:
+                return new MemoryBoundedSearch(problem, problem.nodeLimit).search();
+            case BEAM1:
+            case BEAM2:
+            case BEAM3:
+            case BEAM4:
+                return beamSearch(problem);
+            default:
+                if (strategy == Strategy.UC && problem.externalMemoryDirectory != null) {
+                    return ExternalMemorySearch.search(problem, true, problem.externalMemoryDirectory, problem.externalMemoryRunLength);
+                }
+                if (problem.parallelism > 1 && strategy.isPathCostIncluded()) {
+                    return HashDistributedSearch.search(problem, problem.parallelism);
+                }
+                return generalSearch(problem, strategy);
+        }
+    }
 }
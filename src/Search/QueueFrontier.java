@@ -0,0 +1,54 @@
+package Search;
+
+import java.util.Arrays;
+
+public class QueueFrontier implements Frontier {
+    private static final int INITIAL_CAPACITY = 64;
+    private Node[] nodes;
+    private int head;
+    private int size;
+
+    public QueueFrontier() {
+        nodes = new Node[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public boolean add(Node node) {
+        if (size == nodes.length) {
+            grow();
+        }
+        nodes[(head + size) & (nodes.length - 1)] = node;
+        size++;
+        return true;
+    }
+
+    @Override
+    public Node remove() {
+        if (size == 0) {
+            return null;
+        }
+        Node node = nodes[head];
+        nodes[head] = null;
+        head = (head + 1) & (nodes.length - 1);
+        size--;
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Capacity is kept a power of two so indices wrap with a mask
+    private void grow() {
+        Node[] grown = Arrays.copyOfRange(nodes, head, head + nodes.length * 2);
+        System.arraycopy(nodes, 0, grown, nodes.length - head, head);
+        nodes = grown;
+        head = 0;
+    }
+}
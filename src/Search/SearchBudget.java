@@ -0,0 +1,28 @@
+package Search;
+
+// Limits on a single search, a limit of 0 or less means no limit
+public class SearchBudget {
+    public static final SearchBudget UNLIMITED = new SearchBudget(0, 0, 0);
+    private long timeLimitMillis;
+    private long expansionLimit;
+    private long memoryLimitBytes;
+
+    public SearchBudget(long timeLimitMillis, long expansionLimit, long memoryLimitBytes) {
+        this.timeLimitMillis = timeLimitMillis;
+        this.expansionLimit = expansionLimit;
+        this.memoryLimitBytes = memoryLimitBytes;
+    }
+
+    public long getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    public long getExpansionLimit() {
+        return expansionLimit;
+    }
+
+    // Compared to the nodes the search holds on to times Problem.getEstimatedNodeSize(), not to the heap actually used
+    public long getMemoryLimitBytes() {
+        return memoryLimitBytes;
+    }
+}
@@ -0,0 +1,39 @@
+package Search;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters of one search, only allocated while statistics or the search event are enabled, so a disabled search pays one
+// null check per counted operation. Parallel workers share the counters of their search.
+class SearchCounters {
+    private LongAdder generatedNodesCount = new LongAdder();
+    private LongAdder duplicatesPrunedCount = new LongAdder();
+    private LongAdder expandNanos = new LongAdder();
+    private LongAdder heuristicNanos = new LongAdder();
+    private LongAdder frontierNanos = new LongAdder();
+    private AtomicLong peakFrontierSize = new AtomicLong();
+    private AtomicLong closedSetSize = new AtomicLong();
+
+    void addExpansion(long generated, long nanos) {
+        generatedNodesCount.add(generated);
+        expandNanos.add(nanos);
+    }
+
+    void addHeuristicNanos(long nanos) {
+        heuristicNanos.add(nanos);
+    }
+
+    // Search loops count their frontier work locally and add it once they return
+    void addFrontierWork(long duplicatesPruned, long nanos, long peakFrontier, long closedSet) {
+        duplicatesPrunedCount.add(duplicatesPruned);
+        frontierNanos.add(nanos);
+        peakFrontierSize.accumulateAndGet(peakFrontier, Math::max);
+        closedSetSize.accumulateAndGet(closedSet, Math::max);
+    }
+
+    SearchStats toSearchStats(long expandedNodesCount, long searchTimeNanos, Node goalNode) {
+        return new SearchStats(generatedNodesCount.sum(), expandedNodesCount, duplicatesPrunedCount.sum(), peakFrontierSize.get(),
+                closedSetSize.get(), expandNanos.sum(), heuristicNanos.sum(), frontierNanos.sum(), searchTimeNanos,
+                goalNode != null ? goalNode.getDepth() : -1);
+    }
+}
@@ -0,0 +1,58 @@
+package Search;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Committed to Java Flight Recorder once per search, its duration spans the whole search
+@Name("SearchingAI.Search")
+@Label("Search")
+@Category("SearchingAI")
+@Description("One run of a search strategy")
+class SearchEvent extends jdk.jfr.Event {
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Status")
+    String status;
+
+    @Label("Generated Nodes")
+    long generatedNodes;
+
+    @Label("Expanded Nodes")
+    long expandedNodes;
+
+    @Label("Duplicates Pruned")
+    long duplicatesPruned;
+
+    @Label("Peak Frontier Size")
+    long peakFrontierSize;
+
+    @Label("Closed Set Size")
+    long closedSetSize;
+
+    @Label("Estimated Memory")
+    @DataAmount
+    long estimatedMemory;
+
+    @Label("Expand Time")
+    @Timespan
+    long expandTime;
+
+    @Label("Heuristic Time")
+    @Timespan
+    long heuristicTime;
+
+    @Label("Frontier Time")
+    @Timespan
+    long frontierTime;
+
+    @Label("Solution Depth")
+    int solutionDepth;
+
+    @Label("Effective Branching Factor")
+    double effectiveBranchingFactor;
+}
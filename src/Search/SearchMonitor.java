@@ -0,0 +1,123 @@
+package Search;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Accounts the expansions of one search against its budget and cancellation token. Parallel searches share one monitor, so
+// counting is atomic and the stop reason is only set once.
+class SearchMonitor {
+    // The clock and the memory estimate are only looked at once every this many expansions
+    private static final int CHECK_INTERVAL_MASK = 63;
+    private SearchBudget budget;
+    private CancellationToken cancellationToken;
+    private long estimatedNodeSize;
+    private boolean bestNodeTracked;
+    private boolean pathCostIncluded;
+    private long startTime;
+    private long deadline;
+    private AtomicLong expandedNodesCount;
+    private volatile long retainedNodesCount;
+    private volatile SearchStatus stopStatus;
+    private volatile double bestEstimate;
+    private volatile Node bestNode;
+    private volatile long endTime;
+
+    SearchMonitor(SearchBudget budget, CancellationToken cancellationToken, long estimatedNodeSize, Strategy strategy) {
+        this.budget = budget;
+        this.cancellationToken = cancellationToken;
+        this.estimatedNodeSize = estimatedNodeSize;
+        bestNodeTracked = strategy.getHeuristic() != 0;
+        pathCostIncluded = strategy.isPathCostIncluded();
+        startTime = System.nanoTime();
+        deadline = budget.getTimeLimitMillis() > 0 ? startTime + TimeUnit.MILLISECONDS.toNanos(budget.getTimeLimitMillis()) : Long.MAX_VALUE;
+        expandedNodesCount = new AtomicLong();
+        bestEstimate = Double.POSITIVE_INFINITY;
+    }
+
+    // Charges one expansion, false if the search has to stop instead
+    boolean tryExpand(Node node, long retainedNodes) {
+        if (stopStatus != null) {
+            return false;
+        }
+        long expanded = expandedNodesCount.incrementAndGet();
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            return stop(SearchStatus.CANCELLED);
+        }
+        if (budget.getExpansionLimit() > 0 && expanded > budget.getExpansionLimit()) {
+            expandedNodesCount.decrementAndGet();
+            return stop(SearchStatus.EXPANSION_LIMIT_REACHED);
+        }
+        if ((expanded & CHECK_INTERVAL_MASK) == 0) {
+            retainedNodesCount = retainedNodes;
+            if (System.nanoTime() > deadline) {
+                return stop(SearchStatus.TIME_LIMIT_REACHED);
+            }
+            if (budget.getMemoryLimitBytes() > 0 && retainedNodes * estimatedNodeSize > budget.getMemoryLimitBytes()) {
+                return stop(SearchStatus.MEMORY_LIMIT_REACHED);
+            }
+        }
+        if (bestNodeTracked) {
+            offerBestNode(node);
+        }
+        return true;
+    }
+
+    // Checks without charging an expansion, for loops around the expanding ones
+    boolean isStopped() {
+        if (stopStatus == null && cancellationToken != null && cancellationToken.isCancelled()) {
+            stop(SearchStatus.CANCELLED);
+        }
+        return stopStatus != null;
+    }
+
+    private synchronized boolean stop(SearchStatus status) {
+        if (stopStatus == null) {
+            stopStatus = status;
+        }
+        return false;
+    }
+
+    // The estimate left once the path cost is taken out of the eval
+    private void offerBestNode(Node node) {
+        double estimate = pathCostIncluded ? node.getEval() - node.getPathCost() : node.getEval();
+        if (estimate < bestEstimate) {
+            synchronized (this) {
+                if (estimate < bestEstimate) {
+                    bestEstimate = estimate;
+                    bestNode = node;
+                }
+            }
+        }
+    }
+
+    void restoreBestNode(NodeStore nodeStore) {
+        Node node = bestNode;
+        if (node != null && node.storeIndex >= 0) {
+            bestNode = nodeStore.toNode(node.storeIndex);
+        }
+    }
+
+    void finish() {
+        endTime = System.nanoTime();
+    }
+
+    SearchStatus getStopStatus() {
+        return stopStatus;
+    }
+
+    long getExpandedNodesCount() {
+        return expandedNodesCount.get();
+    }
+
+    long getEstimatedMemoryBytes() {
+        return retainedNodesCount * estimatedNodeSize;
+    }
+
+    Node getBestNode() {
+        return bestNode;
+    }
+
+    long getElapsedNanos() {
+        return (endTime != 0 ? endTime : System.nanoTime()) - startTime;
+    }
+}
@@ -0,0 +1,116 @@
+package Search;
+
+// What one search did. Expansions and the search time are always counted, everything else only while statistics are enabled
+// on the problem or the search event is recorded, and stays 0 otherwise.
+public class SearchStats {
+    private long generatedNodesCount;
+    private long expandedNodesCount;
+    private long duplicatesPrunedCount;
+    private long peakFrontierSize;
+    private long closedSetSize;
+    private long expandTimeNanos;
+    private long heuristicTimeNanos;
+    private long frontierTimeNanos;
+    private long searchTimeNanos;
+    private int solutionDepth;
+
+    // Only what is always counted, for statistics kept elsewhere
+    public SearchStats(long expandedNodesCount, long searchTimeNanos, int solutionDepth) {
+        this(0, expandedNodesCount, 0, 0, 0, 0, 0, 0, searchTimeNanos, solutionDepth);
+    }
+
+    SearchStats(long generatedNodesCount, long expandedNodesCount, long duplicatesPrunedCount, long peakFrontierSize, long closedSetSize,
+                long expandTimeNanos, long heuristicTimeNanos, long frontierTimeNanos, long searchTimeNanos, int solutionDepth) {
+        this.generatedNodesCount = generatedNodesCount;
+        this.expandedNodesCount = expandedNodesCount;
+        this.duplicatesPrunedCount = duplicatesPrunedCount;
+        this.peakFrontierSize = peakFrontierSize;
+        this.closedSetSize = closedSetSize;
+        this.expandTimeNanos = expandTimeNanos;
+        this.heuristicTimeNanos = heuristicTimeNanos;
+        this.frontierTimeNanos = frontierTimeNanos;
+        this.searchTimeNanos = searchTimeNanos;
+        this.solutionDepth = solutionDepth;
+    }
+
+    public long getGeneratedNodesCount() {
+        return generatedNodesCount;
+    }
+
+    public long getExpandedNodesCount() {
+        return expandedNodesCount;
+    }
+
+    // Successors dropped because their state was already generated or expanded
+    public long getDuplicatesPrunedCount() {
+        return duplicatesPrunedCount;
+    }
+
+    // Frontier and closed set sizes are only tracked by the best first, breadth first, depth first and beam searches
+    public long getPeakFrontierSize() {
+        return peakFrontierSize;
+    }
+
+    public long getClosedSetSize() {
+        return closedSetSize;
+    }
+
+    // Includes the heuristic evaluations of the successors, which are also counted by getHeuristicTimeNanos()
+    public long getExpandTimeNanos() {
+        return expandTimeNanos;
+    }
+
+    public long getHeuristicTimeNanos() {
+        return heuristicTimeNanos;
+    }
+
+    public long getFrontierTimeNanos() {
+        return frontierTimeNanos;
+    }
+
+    public long getSearchTimeNanos() {
+        return searchTimeNanos;
+    }
+
+    // Depth of the plan found, -1 without one
+    public int getSolutionDepth() {
+        return solutionDepth;
+    }
+
+    // The branching factor b of a uniform tree of the solution depth with as many nodes as were generated, that is
+    // 1 + b + b^2 + ... + b^d = generated + 1. NaN without a plan or without generated nodes.
+    public double getEffectiveBranchingFactor() {
+        if (solutionDepth < 1 || generatedNodesCount == 0) {
+            return Double.NaN;
+        }
+        double low = 0;
+        double high = Math.max(1, generatedNodesCount);
+        for (int i = 0; i < 100; i++) {
+            double middle = (low + high) / 2;
+            if (getTreeSize(middle) < generatedNodesCount + 1) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    private double getTreeSize(double branchingFactor) {
+        double size = 1;
+        double level = 1;
+        for (int depth = 1; depth <= solutionDepth; depth++) {
+            level *= branchingFactor;
+            size += level;
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "generated=" + generatedNodesCount + ", expanded=" + expandedNodesCount + ", duplicatesPruned=" + duplicatesPrunedCount
+                + ", peakFrontier=" + peakFrontierSize + ", closedSet=" + closedSetSize + ", expandMs=" + expandTimeNanos / 1000000
+                + ", heuristicMs=" + heuristicTimeNanos / 1000000 + ", frontierMs=" + frontierTimeNanos / 1000000
+                + ", searchMs=" + searchTimeNanos / 1000000 + ", effectiveBranchingFactor=" + getEffectiveBranchingFactor();
+    }
+}
@@ -0,0 +1,10 @@
+package Search;
+
+public enum SearchStatus {
+    SOLVED,
+    NO_SOLUTION,
+    CANCELLED,
+    TIME_LIMIT_REACHED,
+    EXPANSION_LIMIT_REACHED,
+    MEMORY_LIMIT_REACHED
+}
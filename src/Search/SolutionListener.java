@@ -0,0 +1,6 @@
+package Search;
+
+public interface SolutionListener {
+    // Called for every improved solution. The cost of the goal node is at most suboptimalityBound times the optimal cost.
+    void onSolution(Node goalNode, double weight, double suboptimalityBound);
+}
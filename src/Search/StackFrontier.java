@@ -0,0 +1,42 @@
+package Search;
+
+import java.util.Arrays;
+
+public class StackFrontier implements Frontier {
+    private static final int INITIAL_CAPACITY = 64;
+    private Node[] nodes;
+    private int size;
+
+    public StackFrontier() {
+        nodes = new Node[INITIAL_CAPACITY];
+    }
+
+    @Override
+    public boolean add(Node node) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+        nodes[size++] = node;
+        return true;
+    }
+
+    @Override
+    public Node remove() {
+        if (size == 0) {
+            return null;
+        }
+        Node node = nodes[--size];
+        nodes[size] = null;
+        return node;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -2,4 +2,6 @@ package Search;
 
 public interface State {
     boolean isSame(State state);
+
+    Object getKey();
 }
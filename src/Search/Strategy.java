@@ -1,5 +1,62 @@
 package Search;
 
+import java.util.function.Supplier;
+
+// Strategies searched by the general search pick its frontier, the others have an engine of their own and no frontier
 public enum Strategy {
-    BF, DF, ID, UC, GR1, GR2, AS1, AS2;
+    BF(QueueFrontier::new, false, 0),
+    DF(StackFrontier::new, false, 0),
+    ID(null, false, 0),
+    UC(PriorityFrontier::new, true, 0),
+    GR1(PriorityFrontier::new, false, 1),
+    GR2(PriorityFrontier::new, false, 2),
+    GR3(PriorityFrontier::new, false, 3),
+    GR4(PriorityFrontier::new, false, 4),
+    AS1(PriorityFrontier::new, true, 1),
+    AS2(PriorityFrontier::new, true, 2),
+    AS3(PriorityFrontier::new, true, 3),
+    AS4(PriorityFrontier::new, true, 4),
+    IDA1(null, true, 1),
+    IDA2(null, true, 2),
+    IDA3(null, true, 3),
+    IDA4(null, true, 4),
+    ARA1(null, true, 1),
+    ARA2(null, true, 2),
+    ARA3(null, true, 3),
+    ARA4(null, true, 4),
+    SMA1(null, true, 1),
+    SMA2(null, true, 2),
+    SMA3(null, true, 3),
+    SMA4(null, true, 4),
+    BEAM1(null, true, 1),
+    BEAM2(null, true, 2),
+    BEAM3(null, true, 3),
+    BEAM4(null, true, 4);
+
+    private Supplier<Frontier> frontierSupplier;
+    private boolean pathCostIncluded;
+    private int heuristic;
+
+    Strategy(Supplier<Frontier> frontierSupplier, boolean pathCostIncluded, int heuristic) {
+        this.frontierSupplier = frontierSupplier;
+        this.pathCostIncluded = pathCostIncluded;
+        this.heuristic = heuristic;
+    }
+
+    public Frontier createFrontier() {
+        if (frontierSupplier == null) {
+            throw new IllegalStateException(this + " is not searched with a frontier");
+        }
+        return frontierSupplier.get();
+    }
+
+    // Whether the node evaluation adds the path cost so far
+    public boolean isPathCostIncluded() {
+        return pathCostIncluded;
+    }
+
+    // The heuristic the node evaluation adds, 0 for none
+    public int getHeuristic() {
+        return heuristic;
+    }
 }
@@ -0,0 +1,68 @@
+package Search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TranspositionTable {
+    private int capacity;
+    private LinkedHashMap<Object, Double> values;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Transposition table capacity must be positive");
+        }
+        this.capacity = capacity;
+        // Access ordered, so the eldest entry is always the least recently used one
+        values = new LinkedHashMap<Object, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Double> eldest) {
+                if (size() > TranspositionTable.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Double get(Object key) {
+        Double value = values.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    public void put(Object key, double value) {
+        values.put(key, value);
+    }
+
+    public void clear() {
+        values.clear();
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+}